@@ -1,6 +1,7 @@
 plugins {
     id("java")
     id("org.jetbrains.intellij") version "1.17.2"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.glowxq.plugs"
@@ -21,6 +22,24 @@ dependencies {
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    // Platform fixture tests (LightJavaCodeInsightFixtureTestCase) are JUnit 3/4 based
+    testRuntimeOnly("org.junit.vintage:junit-vintage-engine")
+}
+
+// JMH benchmarks live in src/jmh/java (run with ./gradlew jmh).
+// They build a standalone core PSI environment, so they need the IDE jars on the classpath.
+configurations.named("jmhImplementation") {
+    extendsFrom(configurations.compileOnly.get())
+}
+
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    timeUnit.set("us")
+    benchmarkMode.set(listOf("avgt"))
+    jvmArgsAppend.set(listOf("-Djava.awt.headless=true"))
+    resultFormat.set("JSON")
 }
 
 tasks {
@@ -47,5 +66,7 @@ tasks {
 
     test {
         useJUnitPlatform()
+        // OneClickPerformanceTest only runs with -Doneclick.performance=true
+        systemProperty("oneclick.performance", System.getProperty("oneclick.performance", "false"))
     }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.glowxq.plugs.benchmark;
+
+import com.glowxq.plugs.utils.JavaBeanUtils;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * JavaBeanUtils代码生成方法的基准测试
+ * 每次调用处理类中的全部字段，分别使用10/100/1000个字段的合成类
+ *
+ * @author glowxq
+ */
+@State(Scope.Benchmark)
+public class JavaBeanUtilsBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int fieldCount;
+
+    private PsiBenchmarkEnvironment environment;
+    // JavaBean类（model包），用于生成方法
+    private PsiClass beanClass;
+    private PsiField[] beanFields;
+    // 业务类（service包），sortFields只对业务类生效
+    private PsiClass serviceClass;
+    private List<PsiField> serviceFields;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = new PsiBenchmarkEnvironment();
+        beanClass = environment.parseClass("BenchBean.java",
+                PsiBenchmarkEnvironment.syntheticClass("com.example.model", "BenchBean", fieldCount));
+        beanFields = beanClass.getFields();
+        serviceClass = environment.parseClass("BenchService.java",
+                PsiBenchmarkEnvironment.syntheticClass("com.example.service", "BenchService", fieldCount));
+        serviceFields = Arrays.asList(serviceClass.getFields());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.dispose();
+    }
+
+    @Benchmark
+    public void generateGetterCode(Blackhole blackhole) {
+        for (PsiField field : beanFields) {
+            blackhole.consume(JavaBeanUtils.generateGetterCode(field));
+        }
+    }
+
+    @Benchmark
+    public void generateSetterCode(Blackhole blackhole) {
+        for (PsiField field : beanFields) {
+            blackhole.consume(JavaBeanUtils.generateSetterCode(field));
+        }
+    }
+
+    @Benchmark
+    public void generateFluentSetterCode(Blackhole blackhole) {
+        for (PsiField field : beanFields) {
+            blackhole.consume(JavaBeanUtils.generateFluentSetterCode(field, beanClass));
+        }
+    }
+
+    @Benchmark
+    public String generateJsonToStringCode() {
+        return JavaBeanUtils.generateToStringCode(beanClass);
+    }
+
+    @Benchmark
+    public String generateSimpleToStringCode() {
+        return JavaBeanUtils.generateSimpleToStringCode(beanClass);
+    }
+
+    @Benchmark
+    public String generateApacheToStringCode() {
+        return JavaBeanUtils.generateApacheToStringCode(beanClass);
+    }
+
+    @Benchmark
+    public void getGetterName(Blackhole blackhole) {
+        for (PsiField field : beanFields) {
+            blackhole.consume(JavaBeanUtils.getGetterName(field));
+        }
+    }
+
+    @Benchmark
+    public List<PsiField> sortFields() {
+        return JavaBeanUtils.sortFields(serviceFields, serviceClass);
+    }
+}
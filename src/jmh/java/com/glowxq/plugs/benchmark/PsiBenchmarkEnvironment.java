@@ -0,0 +1,63 @@
+package com.glowxq.plugs.benchmark;
+
+import com.glowxq.plugs.settings.OneClickSettings;
+import com.intellij.core.JavaCoreApplicationEnvironment;
+import com.intellij.core.JavaCoreProjectEnvironment;
+import com.intellij.lang.java.JavaLanguage;
+import com.intellij.mock.MockApplication;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.PsiJavaFile;
+
+/**
+ * 基准测试使用的核心PSI环境
+ * 不启动IDE，只注册解析Java文件和插件设置所需的服务
+ *
+ * @author glowxq
+ */
+final class PsiBenchmarkEnvironment {
+
+    private final Disposable disposable = Disposer.newDisposable("OneClick benchmark");
+    private final JavaCoreProjectEnvironment projectEnvironment;
+
+    PsiBenchmarkEnvironment() {
+        JavaCoreApplicationEnvironment applicationEnvironment = new JavaCoreApplicationEnvironment(disposable);
+        MockApplication application = applicationEnvironment.getApplication();
+        application.registerService(OneClickSettings.class, new OneClickSettings());
+        projectEnvironment = new JavaCoreProjectEnvironment(disposable, applicationEnvironment);
+    }
+
+    /**
+     * 解析类文本，返回文件中的第一个类
+     */
+    PsiClass parseClass(String fileName, String text) {
+        PsiJavaFile file = (PsiJavaFile) PsiFileFactory.getInstance(projectEnvironment.getProject())
+                .createFileFromText(fileName, JavaLanguage.INSTANCE, text);
+        return file.getClasses()[0];
+    }
+
+    /**
+     * 生成包含指定数量字段的类文本，字段类型轮流使用常见类型
+     */
+    static String syntheticClass(String packageName, String className, int fieldCount) {
+        String[] types = {"String", "int", "boolean", "Long", "java.util.List<String>", "java.math.BigDecimal", "Boolean"};
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(packageName).append(";\n\n");
+        sb.append("public class ").append(className).append(" {\n");
+        for (int i = 0; i < fieldCount; i++) {
+            String type = types[i % types.length];
+            // 逆序命名，使按名称排序时需要真正移动元素
+            String name = ("boolean".equals(type) ? "isFlag" : "field") + (fieldCount - i);
+            String modifier = i % 5 == 0 ? "protected" : "private";
+            sb.append("    ").append(modifier).append(' ').append(type).append(' ').append(name).append(";\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    void dispose() {
+        Disposer.dispose(disposable);
+    }
+}
@@ -0,0 +1,126 @@
+package com.glowxq.plugs.actions;
+
+import com.glowxq.plugs.batch.DtoBatchGenerator;
+import com.glowxq.plugs.utils.I18nUtils;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * 批量生成DTO/VO/BO Action
+ * 为选中文件或包中的所有实体类生成数据对象，类型和已存在文件的处理方式在开始前选择一次
+ *
+ * @author glowxq
+ */
+public class BatchDtoGenerateAction extends AnAction {
+
+    private static final String[] SUFFIXES = {"DTO", "VO", "BO"};
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        VirtualFile[] selectedFiles = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+
+        // 只有在项目视图中选中文件或目录时才显示
+        boolean visible = project != null && selectedFiles != null && selectedFiles.length > 0;
+        e.getPresentation().setVisible(visible);
+        e.getPresentation().setEnabled(visible);
+        if (visible) {
+            e.getPresentation().setText(I18nUtils.message("action.dto.batch.text"));
+        }
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        VirtualFile[] selectedFiles = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (project == null || selectedFiles == null || selectedFiles.length == 0) {
+            return;
+        }
+
+        String title = I18nUtils.message("action.dto.batch.title");
+        String[] options = {SUFFIXES[0], SUFFIXES[1], SUFFIXES[2], Messages.getCancelButton()};
+        int choice = Messages.showDialog(project, I18nUtils.message("message.dto.batch.choose"),
+            title, options, 0, Messages.getQuestionIcon());
+        if (choice < 0 || choice >= SUFFIXES.length) {
+            return;
+        }
+        String suffix = SUFFIXES[choice];
+
+        List<VirtualFile> javaFiles = BatchGenerateAction.collectJavaFiles(project, selectedFiles);
+        if (javaFiles == null) {
+            return;
+        }
+        if (javaFiles.isEmpty()) {
+            Messages.showInfoMessage(project, I18nUtils.message("message.batch.no.java.files"), title);
+            return;
+        }
+
+        // 已存在文件的处理方式只询问一次，生成过程中不再弹出对话框
+        int policyChoice = Messages.showYesNoCancelDialog(project,
+            I18nUtils.message("message.dto.batch.confirm", javaFiles.size(), suffix, suffix.toLowerCase()),
+            title,
+            I18nUtils.message("message.dto.batch.skip.existing"),
+            I18nUtils.message("message.dto.batch.overwrite"),
+            Messages.getCancelButton(),
+            Messages.getQuestionIcon());
+        if (policyChoice == Messages.CANCEL) {
+            return;
+        }
+        DtoBatchGenerator.OverwritePolicy policy = policyChoice == Messages.YES
+            ? DtoBatchGenerator.OverwritePolicy.SKIP
+            : DtoBatchGenerator.OverwritePolicy.OVERWRITE;
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project,
+            I18nUtils.message("action.dto.batch.progress", suffix), true) {
+
+            private DtoBatchGenerator.Result result;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                result = new DtoBatchGenerator(project).generate(javaFiles, suffix, policy, indicator);
+            }
+
+            @Override
+            public void onSuccess() {
+                if (result != null && !result.isCanceled()) {
+                    showResult(project, suffix, result);
+                }
+            }
+        });
+    }
+
+    private static void showResult(Project project, String suffix, DtoBatchGenerator.Result result) {
+        String title = I18nUtils.message("action.dto.batch.title");
+        if (result.getSourceClasses() == 0 && result.getErrorCount() == 0) {
+            Messages.showInfoMessage(project, I18nUtils.message("message.dto.batch.no.entities", suffix), title);
+            return;
+        }
+
+        StringBuilder message = new StringBuilder(I18nUtils.message("message.dto.batch.result", suffix,
+            result.getSourceClasses(), result.getCreated(), result.getOverwritten(),
+            result.getSkippedExisting(), result.getErrorCount()));
+        if (result.getErrorCount() > 0) {
+            message.append("\n\n").append(I18nUtils.message("message.batch.errors")).append(":\n");
+            List<String> errors = result.getErrors();
+            for (int i = 0; i < Math.min(5, errors.size()); i++) {
+                message.append("• ").append(errors.get(i)).append("\n");
+            }
+            if (result.getErrorCount() > 5) {
+                message.append(I18nUtils.message("message.batch.errors.count", result.getErrorCount()));
+            }
+            Messages.showWarningDialog(project, message.toString(), title);
+        } else {
+            Messages.showInfoMessage(project, message.toString(), title);
+        }
+    }
+}
@@ -1,27 +1,29 @@
 package com.glowxq.plugs.actions;
 
-import com.glowxq.plugs.settings.OneClickSettings;
+import com.glowxq.plugs.batch.BatchCheckpointStore;
+import com.glowxq.plugs.batch.BatchGenerationEngine;
+import com.glowxq.plugs.batch.BatchPreview;
+import com.glowxq.plugs.batch.BatchResult;
+import com.glowxq.plugs.batch.JavaSourceFinder;
+import com.glowxq.plugs.ui.BatchPreviewDialog;
 import com.glowxq.plugs.utils.I18nUtils;
-import com.glowxq.plugs.utils.JavaBeanUtils;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
-import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.psi.*;
-import com.intellij.psi.search.FileTypeIndex;
-import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.util.indexing.FileBasedIndex;
-import com.intellij.ide.highlighter.JavaFileType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -83,6 +85,9 @@ public class BatchGenerateAction extends AnAction {
 
         // 收集所有需要处理的Java文件
         List<VirtualFile> javaFiles = collectJavaFiles(project, selectedFiles);
+        if (javaFiles == null) {
+            return;
+        }
 
         if (javaFiles.isEmpty()) {
             Messages.showInfoMessage(project,
@@ -91,161 +96,182 @@ public class BatchGenerateAction extends AnAction {
             return;
         }
 
-        // 显示确认对话框
-        int result = Messages.showYesNoDialog(project,
-            I18nUtils.message("message.batch.confirm", javaFiles.size()),
-            I18nUtils.message("action.batch.title"),
-            Messages.getQuestionIcon());
-
-        if (result != Messages.YES) {
-            return;
+        BatchCheckpointStore checkpoint = BatchCheckpointStore.getInstance(project);
+        String jobKey = BatchCheckpointStore.jobKeyOf(selectedFiles);
+        List<VirtualFile> filesToProcess = javaFiles;
+
+        if (checkpoint.hasUnfinished(jobKey)) {
+            // 同一选择上次未完成：从断点继续或重新开始
+            int choice = Messages.showYesNoCancelDialog(project,
+                I18nUtils.message("message.batch.resume", checkpoint.getProcessedCount(),
+                    checkpoint.getTotalFiles(), checkpoint.getFailedCount()),
+                I18nUtils.message("action.batch.title"),
+                I18nUtils.message("message.batch.resume.continue"),
+                I18nUtils.message("message.batch.resume.restart"),
+                Messages.getCancelButton(),
+                Messages.getQuestionIcon());
+
+            if (choice == Messages.CANCEL) {
+                return;
+            }
+            if (choice == Messages.YES) {
+                filesToProcess = checkpoint.remaining(javaFiles);
+            } else {
+                checkpoint.start(jobKey, javaFiles.size());
+            }
+        } else {
+            // 显示确认对话框：直接生成，或先试运行预览修改
+            int result = Messages.showYesNoCancelDialog(project,
+                I18nUtils.message("message.batch.confirm", javaFiles.size()),
+                I18nUtils.message("action.batch.title"),
+                I18nUtils.message("message.batch.generate"),
+                I18nUtils.message("message.batch.preview"),
+                Messages.getCancelButton(),
+                Messages.getQuestionIcon());
+
+            if (result == Messages.CANCEL) {
+                return;
+            }
+            if (result == Messages.NO) {
+                previewBatchGeneration(project, javaFiles);
+                return;
+            }
+            checkpoint.start(jobKey, javaFiles.size());
         }
 
         // 使用进度条执行批量生成
+        List<VirtualFile> finalFilesToProcess = filesToProcess;
         ProgressManager.getInstance().run(new Task.Backgroundable(project, 
             I18nUtils.message("action.batch.progress"), true) {
             
             @Override
             public void run(@NotNull ProgressIndicator indicator) {
-                processBatchGeneration(project, javaFiles, indicator);
+                processBatchGeneration(project, finalFilesToProcess, checkpoint, indicator);
             }
         });
     }
 
-    private List<VirtualFile> collectJavaFiles(Project project, VirtualFile[] selectedFiles) {
-        List<VirtualFile> javaFiles = new ArrayList<>();
-        
-        for (VirtualFile file : selectedFiles) {
-            if (file.isDirectory()) {
-                // 如果是目录，递归收集所有Java文件
-                collectJavaFilesFromDirectory(project, file, javaFiles);
-            } else if (isJavaFile(file)) {
-                // 如果是Java文件，直接添加
-                javaFiles.add(file);
-            }
-        }
-        
-        return javaFiles;
-    }
-
-    private void collectJavaFilesFromDirectory(Project project, VirtualFile directory, List<VirtualFile> javaFiles) {
-        // 递归遍历目录查找Java文件
-        collectJavaFilesRecursively(directory, javaFiles);
-    }
-
-    private void collectJavaFilesRecursively(VirtualFile directory, List<VirtualFile> javaFiles) {
-        if (directory == null || !directory.isDirectory()) {
-            return;
-        }
-
-        VirtualFile[] children = directory.getChildren();
-        if (children == null) {
-            return;
-        }
-
-        for (VirtualFile child : children) {
-            if (child.isDirectory()) {
-                // 递归处理子目录
-                collectJavaFilesRecursively(child, javaFiles);
-            } else if (isJavaFile(child)) {
-                // 添加Java文件
-                javaFiles.add(child);
-            }
+    /**
+     * 通过项目索引收集选中范围内的Java源文件，大型目录可以在进度对话框中取消（批量生成DTO/VO/BO共用）
+     */
+    @Nullable
+    static List<VirtualFile> collectJavaFiles(Project project, VirtualFile[] selectedFiles) {
+        List<VirtualFile> roots = Arrays.asList(selectedFiles);
+        JavaSourceFinder.Filter filter = JavaSourceFinder.Filter.fromSettings();
+        try {
+            return ProgressManager.getInstance().runProcessWithProgressSynchronously(
+                () -> ReadAction.nonBlocking(() -> JavaSourceFinder.findJavaFiles(project, roots, filter))
+                    .wrapProgress(ProgressManager.getInstance().getProgressIndicator())
+                    .executeSynchronously(),
+                I18nUtils.message("message.batch.collecting"), true, project);
+        } catch (ProcessCanceledException e) {
+            return null;
         }
     }
 
+    /**
+     * 试运行：并行计算所有生成计划并显示预览，确认后按缓存的计划写入
+     */
+    private void previewBatchGeneration(Project project, List<VirtualFile> javaFiles) {
+        ProgressManager.getInstance().run(new Task.Backgroundable(project,
+            I18nUtils.message("message.batch.preview.progress"), true) {
 
+            private BatchPreview preview;
 
-    private boolean isJavaFile(VirtualFile file) {
-        return file.getFileType() instanceof JavaFileType && file.getName().endsWith(".java");
-    }
-
-    private void processBatchGeneration(Project project, List<VirtualFile> javaFiles, ProgressIndicator indicator) {
-        int totalFiles = javaFiles.size();
-        int processedFiles = 0;
-        int successCount = 0;
-        int errorCount = 0;
-        List<String> errorMessages = new ArrayList<>();
-
-        PsiManager psiManager = PsiManager.getInstance(project);
-        OneClickSettings settings = OneClickSettings.getInstance();
-
-        for (VirtualFile file : javaFiles) {
-            if (indicator.isCanceled()) {
-                break;
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                preview = new BatchGenerationEngine(project).preview(javaFiles, indicator);
             }
 
-            indicator.setText(I18nUtils.message("message.batch.processing", file.getName()));
-            indicator.setFraction((double) processedFiles / totalFiles);
-
-            try {
-                PsiFile psiFile = psiManager.findFile(file);
-                if (psiFile instanceof PsiJavaFile) {
-                    PsiJavaFile javaFile = (PsiJavaFile) psiFile;
-                    
-                    WriteCommandAction.runWriteCommandAction(project, () -> {
-                        try {
-                            processJavaFile(javaFile, settings);
-                        } catch (Exception ex) {
-                            throw new RuntimeException(ex);
-                        }
-                    });
-                    
-                    successCount++;
+            @Override
+            public void onSuccess() {
+                if (preview.getAnalysisResult().isCanceled()) {
+                    preview.dispose();
+                    return;
                 }
-            } catch (Exception ex) {
-                errorCount++;
-                errorMessages.add(file.getName() + ": " + ex.getMessage());
+                if (preview.isEmpty()) {
+                    preview.dispose();
+                    Messages.showInfoMessage(project,
+                        I18nUtils.message("message.batch.preview.no.changes", javaFiles.size()),
+                        I18nUtils.message("action.batch.title"));
+                    return;
+                }
+                if (!new BatchPreviewDialog(project, preview).showAndGet()) {
+                    preview.dispose();
+                    return;
+                }
+                applyPreview(project, preview);
             }
+        });
+    }
 
-            processedFiles++;
-        }
+    /**
+     * 按预览中缓存的计划写入
+     */
+    private void applyPreview(Project project, BatchPreview preview) {
+        ProgressManager.getInstance().run(new Task.Backgroundable(project,
+            I18nUtils.message("action.batch.progress"), true) {
 
-        // 显示结果
-        showBatchResult(project, totalFiles, successCount, errorCount, errorMessages);
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                BatchResult result = new BatchGenerationEngine(project).applyPreview(preview, indicator);
+                ApplicationManager.getApplication().invokeLater(() -> showBatchResult(project, result));
+            }
+        });
     }
 
-    private void processJavaFile(PsiJavaFile javaFile, OneClickSettings settings) throws Exception {
-        PsiClass[] classes = javaFile.getClasses();
-
-        for (PsiClass psiClass : classes) {
-            if (psiClass != null) {
-                // 处理主类 - 使用现有的GenerateJavaBeanMethodsAction的逻辑
-                generateJavaBeanMethodsForClass(psiClass, settings);
+    private void processBatchGeneration(Project project, List<VirtualFile> javaFiles,
+                                        BatchCheckpointStore checkpoint, ProgressIndicator indicator) {
+        // 并行分析 + 批量写入，进度记录到断点
+        BatchGenerationEngine engine = new BatchGenerationEngine(project);
+        engine.setCheckpoint(checkpoint);
+        BatchResult result = engine.run(javaFiles, indicator);
 
-                // 如果设置中启用了内部类处理，则处理内部类
-                if (settings.isProcessInnerClasses()) {
-                    JavaBeanUtils.processInnerClasses(psiClass, settings);
-                }
-            }
-        }
+        // 显示结果
+        ApplicationManager.getApplication().invokeLater(() -> showBatchResult(project, result));
     }
 
     /**
-     * 为单个类生成代码（使用智能一键生成逻辑）
+     * 显示批量生成结果（智能一键生成的目录模式也使用此方法）
      */
-    private void generateJavaBeanMethodsForClass(PsiClass psiClass, OneClickSettings settings) throws Exception {
-        // 使用智能一键生成的逻辑 - 调用GenerateJavaBeanMethodsAction的核心方法
-        GenerateJavaBeanMethodsAction action = new GenerateJavaBeanMethodsAction();
-        // 直接调用智能生成逻辑
-        action.performSmartGeneration(psiClass.getProject(), psiClass);
-    }
-
-    private void showBatchResult(Project project, int totalFiles, int successCount, 
-                                int errorCount, List<String> errorMessages) {
+    static void showBatchResult(Project project, BatchResult result) {
+        List<String> errorMessages = result.getErrorMessages();
         StringBuilder message = new StringBuilder();
-        message.append(I18nUtils.message("message.batch.result", totalFiles, successCount, errorCount));
+        message.append(I18nUtils.message("message.batch.result",
+            result.getTotalFiles(), result.getSuccessCount(), result.getErrorCount()));
+
+        // 增量模式下未变化而跳过的文件
+        if (result.getSkippedCount() > 0) {
+            message.append("\n").append(I18nUtils.message("message.batch.skipped", result.getSkippedCount()));
+        }
+
+        // 索引预筛选排除的非JavaBean候选文件
+        if (result.getFilteredCount() > 0) {
+            message.append("\n").append(I18nUtils.message("message.batch.filtered", result.getFilteredCount()));
+        }
         
-        if (!errorMessages.isEmpty() && errorMessages.size() <= 5) {
+        if (!errorMessages.isEmpty() && result.getErrorCount() <= 5) {
             message.append("\n\n").append(I18nUtils.message("message.batch.errors")).append(":\n");
             for (String error : errorMessages) {
                 message.append("• ").append(error).append("\n");
             }
-        } else if (errorMessages.size() > 5) {
-            message.append("\n\n").append(I18nUtils.message("message.batch.errors.count", errorMessages.size()));
+        } else if (result.getErrorCount() > 5) {
+            message.append("\n\n").append(I18nUtils.message("message.batch.errors.count", result.getErrorCount()));
+        }
+
+        // 错误过多时全部错误写入了报告文件
+        Path errorReport = result.getErrorReportPath();
+        if (errorReport != null) {
+            message.append("\n").append(I18nUtils.message("message.batch.errors.report", errorReport));
+        }
+
+        // 分块耗时，便于调整分块大小
+        String chunkSummary = result.getChunkSummary();
+        if (!chunkSummary.isEmpty()) {
+            message.append("\n\n").append(chunkSummary);
         }
 
-        if (errorCount > 0) {
+        if (result.getErrorCount() > 0) {
             Messages.showWarningDialog(project, message.toString(), 
                 I18nUtils.message("action.batch.title"));
         } else {
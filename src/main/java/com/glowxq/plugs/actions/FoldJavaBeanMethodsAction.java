@@ -1,5 +1,6 @@
 package com.glowxq.plugs.actions;
 
+import com.glowxq.plugs.metrics.OperationHistory;
 import com.glowxq.plugs.utils.JavaBeanUtils;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
@@ -56,7 +57,11 @@ public class FoldJavaBeanMethodsAction extends AnAction {
             }
 
             // 执行折叠操作
+            OperationHistory.Recording recording = OperationHistory.getInstance()
+                .begin("FoldJavaBeanMethods", psiFile.getName())
+                .setFieldCount(psiClass.getFields().length);
             foldJavaBeanMethods(editor, psiClass);
+            recording.finish();
 
             Messages.showInfoMessage(project, "JavaBean方法折叠完成！", "成功");
         } catch (Exception ex) {
@@ -68,7 +73,7 @@ public class FoldJavaBeanMethodsAction extends AnAction {
     /**
      * 折叠JavaBean方法
      */
-    private void foldJavaBeanMethods(Editor editor, PsiClass psiClass) {
+    void foldJavaBeanMethods(Editor editor, PsiClass psiClass) {
         FoldingModel foldingModel = editor.getFoldingModel();
         
         // 获取所有需要折叠的方法
@@ -1,26 +1,42 @@
 package com.glowxq.plugs.actions;
 
+import com.glowxq.plugs.batch.BatchGenerationEngine;
+import com.glowxq.plugs.batch.BatchResult;
+import com.glowxq.plugs.batch.GenerationFingerprintStore;
+import com.glowxq.plugs.batch.GenerationPlan;
+import com.glowxq.plugs.batch.GenerationPlanner;
+import com.glowxq.plugs.batch.JavaFileDiscovery;
+import com.glowxq.plugs.batch.JavaSourceFinder;
+import com.glowxq.plugs.metrics.OperationHistory;
 import com.glowxq.plugs.settings.OneClickSettings;
 import com.glowxq.plugs.utils.ClassTypeDetector;
+import com.glowxq.plugs.utils.DtoClassGenerator;
 import com.glowxq.plugs.utils.I18nUtils;
+import com.glowxq.plugs.utils.JavaBeanAccessorIndex;
+import com.glowxq.plugs.utils.JavaBeanMethodReconciler;
 import com.glowxq.plugs.utils.JavaBeanUtils;
 import com.glowxq.plugs.utils.LoggerGenerator;
+import com.glowxq.plugs.utils.OneClickMetrics;
+import com.glowxq.plugs.utils.ReformatScope;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
 import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 
 /**
  * 生成JavaBean方法的Action
@@ -28,6 +44,8 @@ import java.util.Set;
  */
 public class GenerateJavaBeanMethodsAction extends AnAction {
 
+    private static final Logger LOG = Logger.getInstance(GenerateJavaBeanMethodsAction.class);
+
     @Override
     public void actionPerformed(AnActionEvent e) {
         try {
@@ -112,107 +130,67 @@ public class GenerateJavaBeanMethodsAction extends AnAction {
 
             // 执行生成操作
             final PsiClass finalPsiClass = psiClass; // 创建final引用
+            // 字段块整体替换后原PsiClass可能失效，通过指针重新获取
+            SmartPsiElementPointer<PsiClass> classPointer = SmartPointerManager.createPointer(psiClass);
+            OperationHistory.Recording recording = OperationHistory.getInstance()
+                .begin("SmartOneClick", psiFile.getName())
+                .setClassType(ClassTypeDetector.detectClassType(psiClass))
+                .setFieldCount(psiClass.getFields().length);
             String[] result = new String[1]; // 用于存储结果消息
             WriteCommandAction.runWriteCommandAction(project, () -> {
                 result[0] = performSmartGeneration(project, finalPsiClass);
+                // 记录顶层类的指纹，之后的增量批量生成可以跳过该类
+                PsiClass generatedClass = classPointer.getElement();
+                if (generatedClass != null && generatedClass.getContainingClass() == null) {
+                    GenerationFingerprintStore.getInstance(project).record(generatedClass);
+                }
             });
+            recording.finish();
 
             Messages.showInfoMessage(project, result[0], "成功");
         } catch (Exception ex) {
             Messages.showErrorDialog("智能一键生成时发生错误: " + ex.getMessage(), "错误");
-            ex.printStackTrace();
+            LOG.warn(ex);
         }
     }
 
     /**
      * 处理目录选择 - 批量生成
+     * 在可取消的后台任务中边查找边处理，不等待目录遍历完成
      */
     private void handleDirectorySelection(Project project, VirtualFile directory) {
-        try {
-            // 收集目录下的所有Java文件
-            List<VirtualFile> javaFiles = new ArrayList<>();
-            collectJavaFilesRecursively(directory, javaFiles);
-
-            if (javaFiles.isEmpty()) {
-                Messages.showInfoMessage(project, "所选目录中没有找到Java文件", "提示");
-                return;
-            }
-
-            // 显示确认对话框
-            int result = Messages.showYesNoDialog(project,
-                "找到 " + javaFiles.size() + " 个Java文件，是否对所有文件执行智能一键生成？",
-                "批量生成确认",
-                Messages.getQuestionIcon());
-
-            if (result != Messages.YES) {
-                return;
-            }
-
-            // 执行批量生成
-            performBatchGeneration(project, javaFiles);
+        int confirm = Messages.showYesNoDialog(project,
+            I18nUtils.message("message.batch.directory.confirm", directory.getPresentableUrl()),
+            "批量生成确认",
+            Messages.getQuestionIcon());
 
-        } catch (Exception ex) {
-            Messages.showErrorDialog(project, "处理目录时发生错误: " + ex.getMessage(), "错误");
-            ex.printStackTrace();
-        }
-    }
-
-    /**
-     * 递归收集Java文件
-     */
-    private void collectJavaFilesRecursively(VirtualFile directory, List<VirtualFile> javaFiles) {
-        if (!directory.isDirectory()) {
+        if (confirm != Messages.YES) {
             return;
         }
 
-        VirtualFile[] children = directory.getChildren();
-        for (VirtualFile child : children) {
-            if (child.isDirectory()) {
-                collectJavaFilesRecursively(child, javaFiles);
-            } else if (child.getName().endsWith(".java")) {
-                javaFiles.add(child);
-            }
-        }
-    }
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, I18nUtils.message("action.batch.progress"), true) {
+            private BatchResult result;
 
-    /**
-     * 执行批量生成
-     */
-    private void performBatchGeneration(Project project, List<VirtualFile> javaFiles) {
-        PsiManager psiManager = PsiManager.getInstance(project);
-        int successCount = 0;
-        int failCount = 0;
-        StringBuilder errorMessages = new StringBuilder();
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                // 分块写入，整体只产生一个撤销步骤
+                result = new BatchGenerationEngine(project)
+                    .runStreaming(JavaFileDiscovery.sources(project, Collections.singletonList(directory),
+                        JavaSourceFinder.Filter.fromSettings()), directory.getName(), indicator);
+            }
 
-        for (VirtualFile virtualFile : javaFiles) {
-            try {
-                PsiFile psiFile = psiManager.findFile(virtualFile);
-                if (psiFile instanceof PsiJavaFile) {
-                    PsiJavaFile javaFile = (PsiJavaFile) psiFile;
-                    PsiClass[] classes = javaFile.getClasses();
-
-                    for (PsiClass psiClass : classes) {
-                        if (psiClass != null && !psiClass.isInterface() && !psiClass.isEnum()) {
-                            WriteCommandAction.runWriteCommandAction(project, () -> {
-                                performSmartGeneration(project, psiClass);
-                            });
-                            successCount++;
-                        }
-                    }
+            @Override
+            public void onFinished() {
+                if (result == null) {
+                    return;
+                }
+                if (result.getTotalFiles() == 0 && !result.isCanceled()) {
+                    Messages.showInfoMessage(project, "所选目录中没有找到Java文件", "提示");
+                } else {
+                    BatchGenerateAction.showBatchResult(project, result);
                 }
-            } catch (Exception e) {
-                failCount++;
-                errorMessages.append(virtualFile.getName()).append(": ").append(e.getMessage()).append("\n");
-                System.err.println("处理文件失败: " + virtualFile.getName() + " - " + e.getMessage());
             }
-        }
-
-        // 显示结果
-        String message = "批量生成完成！\n成功: " + successCount + " 个类\n失败: " + failCount + " 个类";
-        if (failCount > 0) {
-            message += "\n\n失败详情:\n" + errorMessages.toString();
-        }
-        Messages.showInfoMessage(project, message, "批量生成结果");
+        });
     }
 
     /**
@@ -278,7 +256,7 @@ public class GenerateJavaBeanMethodsAction extends AnAction {
 
         } catch (Exception ex) {
             Messages.showErrorDialog(project, "处理类选择时发生错误: " + ex.getMessage(), "错误");
-            ex.printStackTrace();
+            LOG.warn(ex);
         }
     }
 
@@ -318,7 +296,7 @@ public class GenerateJavaBeanMethodsAction extends AnAction {
 
         } catch (Exception ex) {
             Messages.showErrorDialog("处理选中文本时发生错误: " + ex.getMessage(), "错误");
-            ex.printStackTrace();
+            LOG.warn(ex);
         }
     }
 
@@ -534,23 +512,34 @@ public class GenerateJavaBeanMethodsAction extends AnAction {
      * @return 生成结果消息
      */
     public String performSmartGeneration(Project project, PsiClass psiClass) {
+        return performSmartGeneration(project, psiClass, GenerationPlanner.planClass(psiClass));
+    }
+
+    /**
+     * 按预先计算好的生成计划为类生成代码（批量生成的写阶段使用）
+     * @return 生成结果消息
+     */
+    public String performSmartGeneration(Project project, PsiClass psiClass, GenerationPlan plan) {
         OneClickSettings settings = OneClickSettings.getInstance();
 
-        // 检测类类型
-        ClassTypeDetector.ClassType classType = ClassTypeDetector.ClassType.UNKNOWN;
-        if (settings.isAutoDetectClassType()) {
-            classType = ClassTypeDetector.detectClassType(psiClass);
-        }
+        // 类类型已在计划阶段检测
+        ClassTypeDetector.ClassType classType = plan.getClassType();
+
+        // 记录插入和移动过的代码范围，生成结束后统一格式化
+        ReformatScope reformatScope = ReformatScope.forClass(psiClass);
+
+        long mutateStart = OneClickMetrics.start();
 
         // 首先执行字段重新排列（对所有类型都执行，内部会判断是否为业务类）
-        JavaBeanUtils.rearrangeFieldsPhysically(psiClass);
+        // 字段块整体替换后原PsiClass可能失效，后续使用返回的类
+        psiClass = JavaBeanUtils.rearrangeFieldsPhysically(psiClass, reformatScope);
 
         StringBuilder resultMessage = new StringBuilder();
 
         // 根据类型生成相应的代码
         if (classType == ClassTypeDetector.ClassType.JAVA_BEAN || !settings.isAutoDetectClassType()) {
             // 生成JavaBean方法
-            String javaBeanResult = generateJavaBeanMethods(project, psiClass);
+            String javaBeanResult = generateJavaBeanMethods(project, psiClass, plan, reformatScope);
             resultMessage.append(javaBeanResult);
         }
 
@@ -565,6 +554,11 @@ public class GenerateJavaBeanMethodsAction extends AnAction {
             }
         }
 
+        OneClickMetrics.stop(OneClickMetrics.Phase.PSI_MUTATE, mutateStart);
+        OneClickMetrics.increment(OneClickMetrics.Counter.CLASSES_GENERATED);
+
+        reformatScope.reformat(psiClass);
+
         if (resultMessage.length() == 0) {
             return "未生成任何代码";
         }
@@ -609,7 +603,7 @@ public class GenerateJavaBeanMethodsAction extends AnAction {
         }
 
         // 生成类内容
-        String classContent = generateDtoVoClassContent(sourceClass, newClassName, suffix, subDirName);
+        String classContent = DtoClassGenerator.generateContent(sourceClass, newClassName, suffix, subDirName);
 
         // 创建或覆盖文件
         if (existingFile != null) {
@@ -627,230 +621,12 @@ public class GenerateJavaBeanMethodsAction extends AnAction {
         return "成功生成 " + suffix + " 类：" + newClassName + "\n文件位置：" + existingFile.getPath();
     }
 
-    /**
-     * 生成DTO/VO类的内容
-     */
-    private String generateDtoVoClassContent(PsiClass sourceClass, String newClassName, String suffix, String subDirName) {
-        StringBuilder sb = new StringBuilder();
-
-        // 获取包名
-        PsiFile sourceFile = sourceClass.getContainingFile();
-        String packageName = "";
-        String sourceClassFullName = "";
-        if (sourceFile instanceof PsiJavaFile) {
-            PsiJavaFile javaFile = (PsiJavaFile) sourceFile;
-            packageName = javaFile.getPackageName();
-            sourceClassFullName = packageName.isEmpty() ? sourceClass.getName() : packageName + "." + sourceClass.getName();
-        }
-
-        // 包声明 - 添加子包
-        if (!packageName.isEmpty()) {
-            sb.append("package ").append(packageName).append(".").append(subDirName).append(";\n\n");
-        } else {
-            sb.append("package ").append(subDirName).append(";\n\n");
-        }
-
-        // 收集需要导入的类型
-        Set<String> imports = new LinkedHashSet<>();
-        imports.add("java.io.Serializable");
-        imports.add("java.io.Serial"); // 添加@Serial注解的导入
-
-        // 添加源类的导入
-        if (!packageName.isEmpty()) {
-            imports.add(sourceClassFullName);
-        }
-
-        // 获取设置
-        OneClickSettings settings = OneClickSettings.getInstance();
-
-        // 如果使用BeanUtils，添加导入
-        if (settings.isUseBeanUtilsForConversion()) {
-            String beanUtilsClass = settings.getBeanUtilsClass();
-            if (beanUtilsClass != null && !beanUtilsClass.isEmpty()) {
-                imports.add(beanUtilsClass);
-            }
-        }
-
-        // 收集字段类型的导入
-        List<PsiField> fields = JavaBeanUtils.getInstanceFields(sourceClass);
-        for (PsiField field : fields) {
-            String fieldType = field.getType().getCanonicalText();
-            // 收集需要导入的类型
-            collectImportsFromType(fieldType, imports, packageName + "." + subDirName);
-        }
-
-        // 从源文件收集导入语句
-        if (sourceFile instanceof PsiJavaFile) {
-            PsiJavaFile javaFile = (PsiJavaFile) sourceFile;
-            PsiImportList importList = javaFile.getImportList();
-            if (importList != null) {
-                for (PsiImportStatement importStatement : importList.getImportStatements()) {
-                    String importText = importStatement.getQualifiedName();
-                    if (importText != null && !importText.isEmpty()) {
-                        // 检查是否是字段类型需要的导入
-                        for (PsiField field : fields) {
-                            String fieldType = field.getType().getCanonicalText();
-                            if (fieldType.contains(importText.substring(importText.lastIndexOf('.') + 1))) {
-                                imports.add(importText);
-                            }
-                        }
-                    }
-                }
-            }
-        }
-
-        // 输出导入语句
-        for (String importStr : imports) {
-            sb.append("import ").append(importStr).append(";\n");
-        }
-        sb.append("\n");
-
-        // 类注释
-        sb.append("/**\n");
-        sb.append(" * ").append(sourceClass.getName()).append(" ").append(suffix).append(" 类\n");
-        sb.append(" * 自动生成的数据传输对象\n");
-        sb.append(" * \n");
-        sb.append(" * @author OneClick Plugin\n");
-        sb.append(" * @date ").append(new java.text.SimpleDateFormat("yyyy/MM/dd").format(new java.util.Date())).append("\n");
-        sb.append(" */\n");
-
-        // 类声明
-        sb.append("public class ").append(newClassName).append(" implements Serializable {\n\n");
-
-        // serialVersionUID with @Serial annotation
-        sb.append("    @Serial\n");
-        sb.append("    private static final long serialVersionUID = 1L;\n\n");
-
-        // 生成字段（使用之前已经获取的fields变量）
-        for (PsiField field : fields) {
-            String fieldType = getSimpleTypeName(field.getType().getCanonicalText());
-            String fieldName = field.getName();
-
-            sb.append("    private ").append(fieldType).append(" ").append(fieldName).append(";\n");
-        }
-
-        if (!fields.isEmpty()) {
-            sb.append("\n");
-        }
-
-        // 生成构造方法
-        sb.append("    public ").append(newClassName).append("() {\n");
-        sb.append("    }\n\n");
-
-        // 方法排序：toEntity、fromEntity、getter/setter、toString
-
-        // 1. 生成toEntity转换方法
-        String sourceClassName = sourceClass.getName();
-        sb.append("    /**\n");
-        sb.append("     * 转换为实体类\n");
-        sb.append("     */\n");
-        sb.append("    public ").append(sourceClassName).append(" toEntity() {\n");
-        sb.append("        ").append(sourceClassName).append(" entity = new ").append(sourceClassName).append("();\n");
-
-        if (settings.isUseBeanUtilsForConversion()) {
-            // 使用BeanUtils
-            String beanUtilsClass = settings.getBeanUtilsClass();
-            String beanUtilsSimpleName = beanUtilsClass.substring(beanUtilsClass.lastIndexOf('.') + 1);
-            sb.append("        ").append(beanUtilsSimpleName).append(".copyProperties(this, entity);\n");
-        } else {
-            // 使用原生getter/setter
-            for (PsiField field : fields) {
-                String fieldName = field.getName();
-                String getterName = getGetterNameForField(field);
-                String capitalizedName = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
-                sb.append("        entity.set").append(capitalizedName).append("(this.").append(getterName).append("());\n");
-            }
-        }
-
-        sb.append("        return entity;\n");
-        sb.append("    }\n\n");
-
-        // 2. 生成fromEntity静态方法
-        sb.append("    /**\n");
-        sb.append("     * 从实体类转换\n");
-        sb.append("     */\n");
-        sb.append("    public static ").append(newClassName).append(" fromEntity(").append(sourceClassName).append(" entity) {\n");
-        sb.append("        if (entity == null) {\n");
-        sb.append("            return null;\n");
-        sb.append("        }\n");
-        sb.append("        ").append(newClassName).append(" ").append(suffix.toLowerCase()).append(" = new ").append(newClassName).append("();\n");
-
-        if (settings.isUseBeanUtilsForConversion()) {
-            // 使用BeanUtils
-            String beanUtilsClass = settings.getBeanUtilsClass();
-            String beanUtilsSimpleName = beanUtilsClass.substring(beanUtilsClass.lastIndexOf('.') + 1);
-            sb.append("        ").append(beanUtilsSimpleName).append(".copyProperties(entity, ").append(suffix.toLowerCase()).append(");\n");
-        } else {
-            // 使用原生getter/setter
-            for (PsiField field : fields) {
-                String fieldName = field.getName();
-                String getterName = getGetterNameForField(field);
-                String capitalizedName = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
-                sb.append("        ").append(suffix.toLowerCase()).append(".set").append(capitalizedName).append("(entity.").append(getterName).append("());\n");
-            }
-        }
-
-        sb.append("        return ").append(suffix.toLowerCase()).append(";\n");
-        sb.append("    }\n\n");
-
-        // 3. 生成getter和setter方法
-        for (PsiField field : fields) {
-            String fieldType = getSimpleTypeName(field.getType().getCanonicalText());
-            String fieldName = field.getName();
-            String capitalizedName = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
-
-            // Getter - 注意：boolean使用isXxx()，Boolean使用getXxx()
-            String getterName = getGetterNameForField(field);
-            String getterMethodName = getterName.startsWith("is") ? getterName : "get" + capitalizedName;
-            sb.append("    public ").append(fieldType).append(" ").append(getterMethodName).append("() {\n");
-            sb.append("        return ").append(fieldName).append(";\n");
-            sb.append("    }\n\n");
-
-            // Setter
-            sb.append("    public void set").append(capitalizedName).append("(").append(fieldType).append(" ").append(fieldName).append(") {\n");
-            sb.append("        this.").append(fieldName).append(" = ").append(fieldName).append(";\n");
-            sb.append("    }\n\n");
-        }
-
-        // 4. 生成JSON格式的toString方法
-        sb.append("    @Override\n");
-        sb.append("    public String toString() {\n");
-        sb.append("        return \"{\" +\n");
-
-        for (int i = 0; i < fields.size(); i++) {
-            PsiField field = fields.get(i);
-            String fieldName = field.getName();
-            sb.append("                \"\\\"").append(fieldName).append("\\\":\" + ");
-
-            // 判断字段类型，字符串类型需要加引号
-            String fieldType = field.getType().getCanonicalText();
-            if (fieldType.equals("java.lang.String") || fieldType.equals("String")) {
-                sb.append("\"\\\"\" + ").append(fieldName).append(" + \"\\\"\"");
-            } else {
-                sb.append(fieldName);
-            }
-
-            if (i < fields.size() - 1) {
-                sb.append(" +\n");
-                sb.append("                \", \" +\n");
-            } else {
-                sb.append(" +\n");
-            }
-        }
-
-        sb.append("                \"}\";\n");
-        sb.append("    }\n");
-
-        sb.append("}\n");
-
-        return sb.toString();
-    }
-
     /**
      * 生成JavaBean方法
      * @return 生成结果消息
      */
-    private String generateJavaBeanMethods(Project project, PsiClass psiClass) {
+    private String generateJavaBeanMethods(Project project, PsiClass psiClass, GenerationPlan plan,
+                                           ReformatScope reformatScope) {
         OneClickSettings settings = OneClickSettings.getInstance();
         PsiElementFactory factory = JavaPsiFacade.getElementFactory(project);
 
@@ -860,103 +636,53 @@ public class GenerateJavaBeanMethodsAction extends AnAction {
             return "没有找到需要生成getter/setter的字段";
         }
 
-        // 1. 收集并移除所有现有的getter/setter/toString方法
-        List<PsiMethod> existingJavaBeanMethods = JavaBeanUtils.getAllJavaBeanMethods(psiClass, fields);
-        int existingGetterCount = 0;
-        int existingSetterCount = 0;
-        int existingToStringCount = 0;
-
-        for (PsiMethod method : existingJavaBeanMethods) {
-            if (JavaBeanUtils.isGetterMethod(method)) {
-                existingGetterCount++;
-            } else if (JavaBeanUtils.isSetterMethod(method)) {
-                existingSetterCount++;
-            } else if (JavaBeanUtils.isToStringMethod(method)) {
-                existingToStringCount++;
-            }
-            method.delete();
-        }
-
-        // 2. 移除现有的分割注释（如果存在）
-        if (settings.isGenerateSeparatorComment()) {
-            JavaBeanUtils.removeSeparatorComment(psiClass);
-        }
+        // 访问器索引在本次生成中只构建一次，方法分类为常数时间
+        JavaBeanAccessorIndex accessorIndex = JavaBeanAccessorIndex.of(fields);
 
-        // 3. 找到插入JavaBean方法的最佳位置（在业务方法之后）
-        PsiElement insertionPoint = JavaBeanUtils.findInsertionPoint(psiClass, fields);
+        // 1. 收集现有的getter/setter/toString方法，未出现在期望集合中的会被删除
+        List<PsiMethod> existingJavaBeanMethods = accessorIndex.getAllJavaBeanMethods(psiClass);
 
-        // 4. 检查是否需要添加分割注释（只有当存在业务方法时才添加）
-        List<PsiMethod> businessMethods = JavaBeanUtils.getBusinessMethods(psiClass, fields);
-        PsiElement lastInserted = insertionPoint;
+        // 2. 找到插入JavaBean方法的最佳位置（在业务方法之后）
+        List<PsiMethod> businessMethods = accessorIndex.getBusinessMethods(psiClass);
+        PsiElement insertionPoint = JavaBeanAccessorIndex.findInsertionPoint(psiClass, businessMethods);
 
-        if (settings.isGenerateSeparatorComment() && !businessMethods.isEmpty()) {
-            // 添加格式化的分割注释
-            PsiElement commentElement = JavaBeanUtils.createFormattedSeparatorComment(factory, psiClass);
-            lastInserted = JavaBeanUtils.insertCommentAfter(psiClass, commentElement, lastInserted);
-        }
-
-        int newGetterCount = 0;
-        int newSetterCount = 0;
-
-        // 5. 按字段顺序重新生成所有getter和setter方法（在正确位置插入）
-        if (settings.isGenerateGetterSetter()) {
-            for (PsiField field : fields) {
-                String fieldName = field.getName();
-
-                // 生成getter方法
-                String getterCode = JavaBeanUtils.generateGetterCode(field);
-                PsiMethod getterMethod = factory.createMethodFromText(getterCode, psiClass);
-                lastInserted = JavaBeanUtils.insertAfter(psiClass, getterMethod, lastInserted);
-                newGetterCount++;
-                System.out.println("Generated getter for field: " + fieldName);
-
-                // 生成setter方法
-                String setterCode;
-                if (settings.isGenerateFluentSetters()) {
-                    setterCode = JavaBeanUtils.generateFluentSetterCode(field, psiClass);
-                } else {
-                    setterCode = JavaBeanUtils.generateSetterCode(field);
+        // 3. 分割注释只在存在业务方法时保留，已存在则不重复添加
+        if (settings.isGenerateSeparatorComment()) {
+            PsiComment separator = JavaBeanUtils.findSeparatorComment(psiClass);
+            if (businessMethods.isEmpty()) {
+                if (separator != null) {
+                    JavaBeanUtils.removeSeparatorComment(psiClass);
                 }
-                PsiMethod setterMethod = factory.createMethodFromText(setterCode, psiClass);
-                lastInserted = JavaBeanUtils.insertAfter(psiClass, setterMethod, lastInserted);
-                newSetterCount++;
-                System.out.println("Generated setter for field: " + fieldName);
+            } else if (separator == null) {
+                PsiElement commentElement = JavaBeanUtils.createFormattedSeparatorComment(factory, psiClass);
+                insertionPoint = JavaBeanUtils.insertCommentAfter(psiClass, commentElement, insertionPoint);
+                reformatScope.add(insertionPoint);
+            } else {
+                insertionPoint = separator;
             }
         }
 
-        // 6. 生成新的toString方法（放在最后）
-        int newToStringCount = 0;
-        if (settings.isGenerateToString() && !fields.isEmpty()) {
-            String toStringCode;
-            switch (settings.getToStringStyle()) {
-                case "simple":
-                    toStringCode = JavaBeanUtils.generateSimpleToStringCode(psiClass);
-                    break;
-                case "apache":
-                    toStringCode = JavaBeanUtils.generateApacheToStringCode(psiClass);
-                    break;
-                default: // json
-                    toStringCode = JavaBeanUtils.generateToStringCode(psiClass);
-                    break;
-            }
-            PsiMethod toStringMethod = factory.createMethodFromText(toStringCode, psiClass);
-            JavaBeanUtils.insertAfter(psiClass, toStringMethod, lastInserted);
-            newToStringCount = 1;
+        // 4. 期望的方法：按字段顺序的getter/setter（计划阶段已生成文本），最后是toString
+        List<String> desiredTexts = plan.getJavaBeanMethodTexts();
+        String toStringCode = plan.getToStringText();
+
+        // 5. 对比更新：只新增、替换或删除确实不同的方法
+        JavaBeanMethodReconciler.Result reconcileResult =
+            JavaBeanMethodReconciler.reconcile(psiClass, desiredTexts, existingJavaBeanMethods, insertionPoint);
+        for (PsiElement changed : reconcileResult.getChangedElements()) {
+            reformatScope.add(changed);
         }
+        OneClickMetrics.add(OneClickMetrics.Counter.METHODS_ADDED, reconcileResult.getAdded());
+        OneClickMetrics.add(OneClickMetrics.Counter.METHODS_UPDATED, reconcileResult.getUpdated());
+        OneClickMetrics.add(OneClickMetrics.Counter.METHODS_REMOVED, reconcileResult.getRemoved());
 
         // 显示详细的生成结果
         StringBuilder message = new StringBuilder("JavaBean方法生成完成！\n");
-
-        if (settings.isGenerateGetterSetter()) {
-            message.append(String.format("- 移除了 %d 个旧的getter方法，重新生成了 %d 个\n",
-                existingGetterCount, newGetterCount));
-            message.append(String.format("- 移除了 %d 个旧的setter方法，重新生成了 %d 个\n",
-                existingSetterCount, newSetterCount));
-        }
+        message.append("- JavaBean方法：").append(reconcileResult).append("\n");
 
         if (settings.isGenerateToString()) {
             message.append(String.format("- %s toString方法（%s风格）\n",
-                newToStringCount > 0 ? "重新生成了" : "未生成", settings.getToStringStyle()));
+                toStringCode != null ? "已同步" : "未生成", settings.getToStringStyle()));
         }
 
         if (settings.isGenerateSeparatorComment()) {
@@ -973,7 +699,7 @@ public class GenerateJavaBeanMethodsAction extends AnAction {
         if (settings.isProcessInnerClasses()) {
             PsiClass[] innerClasses = psiClass.getInnerClasses();
             for (PsiClass innerClass : innerClasses) {
-                if (innerClass != null && !innerClass.isInterface() && !innerClass.isEnum()) {
+                if (JavaBeanUtils.isGeneratable(innerClass)) {
                     innerClassCount++;
                 }
             }
@@ -983,7 +709,9 @@ public class GenerateJavaBeanMethodsAction extends AnAction {
             }
         }
 
-        System.out.println(message.toString());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(message.toString());
+        }
         return message.toString();
     }
 
@@ -1063,122 +791,6 @@ public class GenerateJavaBeanMethodsAction extends AnAction {
         return null;
     }
 
-    /**
-     * 获取字段的getter方法名
-     * 注意：boolean（基本类型）使用isXxx()，Boolean（包装类型）使用getXxx()
-     */
-    private String getGetterNameForField(PsiField field) {
-        String fieldName = field.getName();
-        String fieldType = field.getType().getCanonicalText();
-
-        // 只有基本类型boolean才使用isXxx()，包装类型Boolean使用getXxx()
-        if ("boolean".equals(fieldType)) {
-            // 如果字段名已经以is开头，直接返回字段名
-            if (fieldName.startsWith("is") && fieldName.length() > 2 && Character.isUpperCase(fieldName.charAt(2))) {
-                return fieldName;
-            }
-            // 否则返回isXxx
-            return "is" + fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
-        }
-
-        // 其他类型（包括Boolean包装类型）返回getXxx
-        return "get" + fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
-    }
-
-    /**
-     * 获取简单类型名称（去除包名）
-     */
-    private String getSimpleTypeName(String fullTypeName) {
-        if (fullTypeName == null || fullTypeName.isEmpty()) {
-            return fullTypeName;
-        }
-
-        // 处理泛型类型
-        if (fullTypeName.contains("<")) {
-            int genericStart = fullTypeName.indexOf("<");
-            int genericEnd = fullTypeName.lastIndexOf(">");
-
-            String baseType = fullTypeName.substring(0, genericStart);
-            String genericPart = fullTypeName.substring(genericStart + 1, genericEnd);
-
-            // 递归处理泛型参数
-            String[] genericTypes = genericPart.split(",");
-            StringBuilder simplifiedGeneric = new StringBuilder();
-            for (int i = 0; i < genericTypes.length; i++) {
-                if (i > 0) {
-                    simplifiedGeneric.append(", ");
-                }
-                simplifiedGeneric.append(getSimpleTypeName(genericTypes[i].trim()));
-            }
-
-            return getSimpleClassName(baseType) + "<" + simplifiedGeneric.toString() + ">";
-        }
-
-        // 处理数组类型
-        if (fullTypeName.endsWith("[]")) {
-            String baseType = fullTypeName.substring(0, fullTypeName.length() - 2);
-            return getSimpleTypeName(baseType) + "[]";
-        }
-
-        return getSimpleClassName(fullTypeName);
-    }
-
-    /**
-     * 获取简单类名（去除包名）
-     */
-    private String getSimpleClassName(String fullClassName) {
-        if (fullClassName == null || !fullClassName.contains(".")) {
-            return fullClassName;
-        }
-        return fullClassName.substring(fullClassName.lastIndexOf(".") + 1);
-    }
-
-    /**
-     * 从类型字符串中收集需要导入的包
-     */
-    private void collectImportsFromType(String typeStr, Set<String> imports, String currentPackage) {
-        // 移除泛型参数
-        String baseType = typeStr;
-        if (typeStr.contains("<")) {
-            baseType = typeStr.substring(0, typeStr.indexOf("<"));
-            // 处理泛型参数
-            String genericPart = typeStr.substring(typeStr.indexOf("<") + 1, typeStr.lastIndexOf(">"));
-            String[] genericTypes = genericPart.split(",");
-            for (String genericType : genericTypes) {
-                collectImportsFromType(genericType.trim(), imports, currentPackage);
-            }
-        }
-
-        // 移除数组标记
-        baseType = baseType.replace("[]", "").trim();
-
-        // 跳过基本类型和java.lang包中的类
-        if (isPrimitiveOrJavaLang(baseType)) {
-            return;
-        }
-
-        // 如果包含包名，直接添加
-        if (baseType.contains(".")) {
-            // 不导入当前包的类
-            if (!baseType.startsWith(currentPackage + ".")) {
-                imports.add(baseType);
-            }
-        }
-    }
-
-    /**
-     * 判断是否是基本类型或java.lang包中的类
-     */
-    private boolean isPrimitiveOrJavaLang(String type) {
-        return type.equals("byte") || type.equals("short") || type.equals("int") ||
-               type.equals("long") || type.equals("float") || type.equals("double") ||
-               type.equals("boolean") || type.equals("char") || type.equals("void") ||
-               type.equals("String") || type.equals("Object") || type.equals("Integer") ||
-               type.equals("Long") || type.equals("Double") || type.equals("Float") ||
-               type.equals("Boolean") || type.equals("Character") || type.equals("Byte") ||
-               type.equals("Short");
-    }
-
     @Override
     public void update(AnActionEvent e) {
         // 动态设置国际化文本
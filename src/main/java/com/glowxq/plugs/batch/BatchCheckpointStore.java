@@ -0,0 +1,177 @@
+package com.glowxq.plugs.batch;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.components.StoragePathMacros;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 批量生成的断点记录
+ * 保存在项目的工作区文件中，记录当前批量任务已处理的文件和失败的文件；
+ * 任务被取消、出错或IDE异常退出后，再次对同一选择执行批量生成时可以跳过已处理的文件继续执行。
+ * 类的生成指纹由GenerationFingerprintStore单独保存
+ *
+ * @author glowxq
+ */
+@State(
+    name = "OneClickBatchCheckpoint",
+    storages = @Storage(StoragePathMacros.WORKSPACE_FILE)
+)
+public final class BatchCheckpointStore implements PersistentStateComponent<BatchCheckpointStore.State> {
+
+    // 最多记录的失败文件数
+    private static final int MAX_FAILED_FILES = 200;
+    // 处理过程中保存项目设置的最小间隔，IDE异常退出时最多丢失这段时间的进度
+    private static final long SAVE_INTERVAL_MILLIS = 30_000;
+
+    private final Project project;
+    private String jobKey;
+    private int totalFiles;
+    private final Set<String> processedFiles = new LinkedHashSet<>();
+    private final Map<String, String> failedFiles = new LinkedHashMap<>();
+    private long lastSaveMillis;
+
+    public BatchCheckpointStore(@NotNull Project project) {
+        this.project = project;
+    }
+
+    public static BatchCheckpointStore getInstance(@NotNull Project project) {
+        return project.getService(BatchCheckpointStore.class);
+    }
+
+    /**
+     * 状态类
+     */
+    public static class State {
+        // 选中的文件和目录，用于判断是否为同一个批量任务
+        public String jobKey;
+        public int totalFiles;
+        // 已处理文件的URL
+        public List<String> processedFiles = new ArrayList<>();
+        // 失败文件的URL -> 错误信息
+        public Map<String, String> failedFiles = new LinkedHashMap<>();
+    }
+
+    @Override
+    public synchronized @Nullable State getState() {
+        State state = new State();
+        state.jobKey = jobKey;
+        state.totalFiles = totalFiles;
+        state.processedFiles = new ArrayList<>(processedFiles);
+        state.failedFiles = new LinkedHashMap<>(failedFiles);
+        return state;
+    }
+
+    @Override
+    public synchronized void loadState(@NotNull State state) {
+        jobKey = state.jobKey;
+        totalFiles = state.totalFiles;
+        processedFiles.clear();
+        processedFiles.addAll(state.processedFiles);
+        failedFiles.clear();
+        failedFiles.putAll(state.failedFiles);
+    }
+
+    /**
+     * 由选中的文件和目录计算任务标识
+     */
+    @NotNull
+    public static String jobKeyOf(@NotNull VirtualFile[] roots) {
+        return Arrays.stream(roots)
+                .map(VirtualFile::getUrl)
+                .sorted()
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * 是否存在同一任务未完成的断点
+     */
+    public synchronized boolean hasUnfinished(@NotNull String jobKey) {
+        return jobKey.equals(this.jobKey) && (!processedFiles.isEmpty() || !failedFiles.isEmpty());
+    }
+
+    public synchronized int getTotalFiles() {
+        return totalFiles;
+    }
+
+    public synchronized int getProcessedCount() {
+        return processedFiles.size();
+    }
+
+    public synchronized int getFailedCount() {
+        return failedFiles.size();
+    }
+
+    /**
+     * 开始新任务，清除之前的断点
+     */
+    public synchronized void start(@NotNull String jobKey, int totalFiles) {
+        this.jobKey = jobKey;
+        this.totalFiles = totalFiles;
+        processedFiles.clear();
+        failedFiles.clear();
+    }
+
+    /**
+     * 过滤掉已处理的文件，上次失败的文件会重新处理
+     */
+    @NotNull
+    public synchronized List<VirtualFile> remaining(@NotNull List<VirtualFile> javaFiles) {
+        List<VirtualFile> remaining = new ArrayList<>();
+        for (VirtualFile file : javaFiles) {
+            if (!processedFiles.contains(file.getUrl())) {
+                remaining.add(file);
+            }
+        }
+        return remaining;
+    }
+
+    public synchronized void markProcessed(@NotNull VirtualFile file) {
+        processedFiles.add(file.getUrl());
+        failedFiles.remove(file.getUrl());
+    }
+
+    public synchronized void markFailed(@NotNull VirtualFile file, @Nullable String message) {
+        if (failedFiles.size() < MAX_FAILED_FILES || failedFiles.containsKey(file.getUrl())) {
+            failedFiles.put(file.getUrl(), String.valueOf(message));
+        }
+    }
+
+    /**
+     * 任务全部成功完成，清除断点
+     */
+    public synchronized void complete() {
+        jobKey = null;
+        totalFiles = 0;
+        processedFiles.clear();
+        failedFiles.clear();
+    }
+
+    /**
+     * 距离上次保存超过间隔时保存项目设置，使断点在IDE异常退出后仍然可用
+     */
+    public void saveIfDue() {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            if (now - lastSaveMillis < SAVE_INTERVAL_MILLIS) {
+                return;
+            }
+            lastSaveMillis = now;
+        }
+        ApplicationManager.getApplication().invokeLater(project::save, project.getDisposed());
+    }
+}
@@ -0,0 +1,123 @@
+package com.glowxq.plugs.batch;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 批量生成的错误记录
+ * 内存中只保留前limit条错误，超出后所有错误写入磁盘上的报告文件，
+ * 无论批量处理多少文件，错误信息占用的内存都有上限
+ *
+ * @author glowxq
+ */
+public final class BatchErrorLog {
+
+    private final Path directory;
+    private final int limit;
+    private final List<String> messages = new ArrayList<>();
+    private int count;
+    private Path reportPath;
+    private BufferedWriter writer;
+    private boolean writeFailed;
+
+    /**
+     * @param directory 报告文件所在目录
+     * @param limit     内存中保留的错误条数
+     */
+    public BatchErrorLog(@NotNull Path directory, int limit) {
+        this.directory = directory;
+        this.limit = limit;
+    }
+
+    public synchronized void add(@NotNull String message) {
+        count++;
+        if (messages.size() < limit) {
+            messages.add(message);
+            return;
+        }
+        if (writer == null && !writeFailed) {
+            openReport();
+        }
+        write(message);
+    }
+
+    /**
+     * 错误总数（包括只写入报告文件的错误）
+     */
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * 内存中保留的错误
+     */
+    @NotNull
+    public synchronized List<String> getMessages() {
+        return Collections.unmodifiableList(new ArrayList<>(messages));
+    }
+
+    /**
+     * 包含全部错误的报告文件，错误未超出上限时为null
+     */
+    @Nullable
+    public synchronized Path getReportPath() {
+        return writeFailed ? null : reportPath;
+    }
+
+    /**
+     * 关闭报告文件，批量处理结束时调用
+     */
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            writeFailed = true;
+        }
+        writer = null;
+    }
+
+    /**
+     * 创建报告文件，并先写入内存中已有的错误
+     */
+    private void openReport() {
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        reportPath = directory.resolve("oneclick-batch-errors-" + timestamp + ".log");
+        try {
+            Files.createDirectories(directory);
+            writer = Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            writeFailed = true;
+            return;
+        }
+        for (String message : messages) {
+            write(message);
+        }
+    }
+
+    private void write(String message) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(message);
+            writer.newLine();
+        } catch (IOException e) {
+            writeFailed = true;
+            close();
+        }
+    }
+}
@@ -0,0 +1,609 @@
+package com.glowxq.plugs.batch;
+
+import com.glowxq.plugs.actions.GenerateJavaBeanMethodsAction;
+import com.glowxq.plugs.metrics.OperationHistory;
+import com.glowxq.plugs.settings.OneClickSettings;
+import com.glowxq.plugs.utils.I18nUtils;
+import com.glowxq.plugs.utils.JavaBeanUtils;
+import com.glowxq.plugs.utils.OneClickMetrics;
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 批量生成引擎
+ * 文件按分块处理，每个分块分两个阶段执行：
+ * 1. 分析阶段：在多个线程上并行执行非阻塞读操作，为每个类计算生成计划
+ * 2. 写入阶段：在写命令中按计划修改PSI，所有分块只产生一个撤销步骤
+ * 分块处理完后保存文档并释放生成计划，内存占用与分块大小有关，与文件总数无关；
+ * 只读检查模式只执行分析阶段，并记录每个类与期望生成结果之间的差异
+ *
+ * @author glowxq
+ */
+public class BatchGenerationEngine {
+
+    private final Project project;
+    private final GenerateJavaBeanMethodsAction generator = new GenerateJavaBeanMethodsAction();
+    // 是否跳过指纹未变化的类，为null时使用设置
+    private Boolean incremental;
+    // 批量生成的断点记录，为null时不记录
+    private BatchCheckpointStore checkpoint;
+
+    public BatchGenerationEngine(@NotNull Project project) {
+        this.project = project;
+    }
+
+    /**
+     * 覆盖设置中的增量生成开关（例如CI中的只读检查需要检查所有类）
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * 记录处理进度到断点，全部文件成功处理后清除断点
+     */
+    public void setCheckpoint(@Nullable BatchCheckpointStore checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * 执行批量生成（需要在后台线程调用）
+     */
+    @NotNull
+    public BatchResult run(@NotNull List<VirtualFile> javaFiles, @NotNull ProgressIndicator indicator) {
+        BatchResult result = new BatchResult(javaFiles.size());
+        OperationHistory.Recording recording = OperationHistory.getInstance()
+                .begin("BatchGeneration", javaFiles.size() + " files");
+        OneClickSettings settings = OneClickSettings.getInstance();
+        int chunkSize = Math.max(1, settings.getBatchChunkSize());
+        int totalFiles = javaFiles.size();
+        String groupId = newGroupId();
+        result.setChunkSize(chunkSize);
+        try {
+            indicator.setIndeterminate(false);
+            for (int chunkStart = 0; chunkStart < totalFiles; chunkStart += chunkSize) {
+                indicator.checkCanceled();
+                // 分析完一个分块就立即应用，生成计划只在分块处理期间保留
+                List<VirtualFile> chunk = javaFiles.subList(chunkStart, Math.min(chunkStart + chunkSize, totalFiles));
+                applyInCommand(analyze(chunk, indicator, false), chunkStart, totalFiles, groupId, settings, indicator, result);
+            }
+        } catch (ProcessCanceledException e) {
+            result.setCanceled(true);
+        } finally {
+            result.finish();
+            recording.finish();
+        }
+
+        // 取消或有失败的文件时保留断点，下次可以从断点继续（失败的文件会重新处理）
+        if (checkpoint != null && !result.isCanceled() && result.getErrorCount() == 0) {
+            checkpoint.complete();
+        }
+        OneClickMetrics.logSummary();
+        return result;
+    }
+
+    /**
+     * 只读检查：只执行分析阶段，不修改任何文件（需要在后台线程调用）
+     * 重新生成会修改的类记录在结果的差异列表中
+     */
+    @NotNull
+    public BatchResult check(@NotNull List<VirtualFile> javaFiles, @NotNull ProgressIndicator indicator) {
+        return analyzeReadOnly(javaFiles, indicator, null);
+    }
+
+    /**
+     * 试运行：与只读检查相同，但保留会产生修改的类的生成计划（需要在后台线程调用）
+     * 确认后通过applyPreview直接按这些计划写入，不需要重新分析
+     */
+    @NotNull
+    public BatchPreview preview(@NotNull List<VirtualFile> javaFiles, @NotNull ProgressIndicator indicator) {
+        List<BatchPreview.Entry> entries = new ArrayList<>();
+        BatchResult result = analyzeReadOnly(javaFiles, indicator, entries);
+        return new BatchPreview(entries, result);
+    }
+
+    /**
+     * 按预览中保留的计划写入（需要在后台线程调用）
+     * 预览后被修改过的类（指纹变化）会按当前内容重新计算计划
+     */
+    @NotNull
+    public BatchResult applyPreview(@NotNull BatchPreview preview, @NotNull ProgressIndicator indicator) {
+        // 按文件合并计划，同一文件的类在同一个分块中应用
+        Map<VirtualFile, FileAnalysis> byFile = new LinkedHashMap<>();
+        for (BatchPreview.Entry entry : preview.getEntries()) {
+            FileAnalysis analysis = byFile.computeIfAbsent(entry.getFile(), file -> {
+                FileAnalysis created = new FileAnalysis(file);
+                created.javaFile = true;
+                created.plans = new ArrayList<>();
+                created.fingerprints = new ArrayList<>();
+                return created;
+            });
+            analysis.plans.add(entry.getPlan());
+            analysis.fingerprints.add(entry.getFingerprint());
+        }
+        List<FileAnalysis> analyses = new ArrayList<>(byFile.values());
+
+        BatchResult result = new BatchResult(analyses.size());
+        OperationHistory.Recording recording = OperationHistory.getInstance()
+                .begin("BatchGeneration", analyses.size() + " files (preview)");
+        OneClickSettings settings = OneClickSettings.getInstance();
+        int chunkSize = Math.max(1, settings.getBatchChunkSize());
+        int totalFiles = analyses.size();
+        String groupId = newGroupId();
+        result.setChunkSize(chunkSize);
+        int chunkStart = 0;
+        try {
+            indicator.setIndeterminate(false);
+            for (; chunkStart < totalFiles; chunkStart += chunkSize) {
+                indicator.checkCanceled();
+                List<FileAnalysis> chunk = analyses.subList(chunkStart, Math.min(chunkStart + chunkSize, totalFiles));
+                applyInCommand(chunk, chunkStart, totalFiles, groupId, settings, indicator, result);
+            }
+        } catch (ProcessCanceledException e) {
+            result.setCanceled(true);
+            // 未应用的分块的计划也需要释放
+            release(analyses.subList(Math.min(chunkStart, totalFiles), totalFiles));
+        } finally {
+            result.finish();
+            recording.finish();
+        }
+        OneClickMetrics.logSummary();
+        return result;
+    }
+
+    /**
+     * 只执行分析阶段并统计差异
+     *
+     * @param retained 不为null时保留有差异的类的计划（试运行），为null时全部释放
+     */
+    private BatchResult analyzeReadOnly(List<VirtualFile> javaFiles, ProgressIndicator indicator,
+                                        @Nullable List<BatchPreview.Entry> retained) {
+        BatchResult result = new BatchResult(javaFiles.size());
+        int chunkSize = Math.max(1, OneClickSettings.getInstance().getBatchChunkSize());
+        int totalFiles = javaFiles.size();
+        try {
+            indicator.setIndeterminate(false);
+            for (int chunkStart = 0; chunkStart < totalFiles; chunkStart += chunkSize) {
+                int chunkEnd = Math.min(chunkStart + chunkSize, totalFiles);
+                List<FileAnalysis> analyses = analyze(javaFiles.subList(chunkStart, chunkEnd), indicator, true);
+                for (FileAnalysis analysis : analyses) {
+                    if (analysis.filtered) {
+                        result.addFiltered();
+                    } else if (analysis.error != null) {
+                        result.addError(analysis.file.getName(), analysis.error);
+                    } else if (!analysis.javaFile) {
+                        continue;
+                    } else if (analysis.plans.isEmpty() && analysis.skippedClasses > 0) {
+                        result.addSkipped();
+                    } else {
+                        for (BatchPreview.Entry entry : analysis.drifts) {
+                            result.addDrift(entry.getDrift());
+                        }
+                        result.addSuccess();
+                    }
+                    if (retained != null && !analysis.drifts.isEmpty()) {
+                        // 保留的计划不释放，其余计划随分块释放
+                        List<GenerationPlan> released = new ArrayList<>(analysis.plans);
+                        for (BatchPreview.Entry entry : analysis.drifts) {
+                            retained.add(entry);
+                            released.remove(entry.getPlan());
+                        }
+                        analysis.plans = released;
+                    }
+                }
+                release(analyses);
+                indicator.setFraction((double) chunkEnd / totalFiles);
+            }
+        } catch (ProcessCanceledException e) {
+            result.setCanceled(true);
+        } finally {
+            result.finish();
+        }
+        return result;
+    }
+
+    /**
+     * 边发现边处理（需要在后台线程调用）
+     * 文件在另一个线程中枚举，每凑满一个分块就立即分析并在写命令中应用，处理在枚举结束前就会开始；
+     * 取消indicator会同时停止枚举和处理，已经应用的分块保留，所有分块撤销时合并为一步
+     *
+     * @param discovery 文件的发现方式
+     * @param label     操作历史和错误信息中显示的名称（例如目录名）
+     */
+    @NotNull
+    public BatchResult runStreaming(@NotNull JavaFileDiscovery discovery, @NotNull String label,
+                                    @NotNull ProgressIndicator indicator) {
+        BatchResult result = new BatchResult(0);
+        OperationHistory.Recording recording = OperationHistory.getInstance().begin("BatchGeneration", label);
+        OneClickSettings settings = OneClickSettings.getInstance();
+        int chunkSize = Math.max(1, settings.getBatchChunkSize());
+        String groupId = newGroupId();
+        result.setChunkSize(chunkSize);
+
+        // 容量有限的队列：写入跟不上时枚举线程等待，避免一次性把所有文件读入内存
+        BlockingQueue<List<VirtualFile>> chunks = new ArrayBlockingQueue<>(2);
+        AtomicBoolean stopped = new AtomicBoolean();
+        AtomicReference<Throwable> discoveryError = new AtomicReference<>();
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            List<VirtualFile> pending = new ArrayList<>(chunkSize);
+            try {
+                discovery.discover(file -> {
+                    pending.add(file);
+                    if (pending.size() >= chunkSize) {
+                        if (!offer(chunks, new ArrayList<>(pending), stopped, indicator)) {
+                            throw new ProcessCanceledException();
+                        }
+                        pending.clear();
+                    }
+                }, indicator);
+                if (!pending.isEmpty()) {
+                    offer(chunks, pending, stopped, indicator);
+                }
+            } catch (Throwable e) {
+                discoveryError.set(e);
+            } finally {
+                // 空分块表示枚举结束
+                offer(chunks, Collections.emptyList(), stopped, indicator);
+            }
+        });
+
+        int processedFiles = 0;
+        try {
+            indicator.setIndeterminate(true);
+            while (true) {
+                List<VirtualFile> chunk = chunks.poll(50, TimeUnit.MILLISECONDS);
+                indicator.checkCanceled();
+                if (chunk == null) {
+                    continue;
+                }
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                result.addTotalFiles(chunk.size());
+                List<FileAnalysis> analyses = analyze(chunk, indicator, false);
+                applyInCommand(analyses, processedFiles, 0, groupId, settings, indicator, result);
+                processedFiles += chunk.size();
+                indicator.setText2(I18nUtils.message("message.batch.discovering", processedFiles));
+            }
+        } catch (ProcessCanceledException e) {
+            result.setCanceled(true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.setCanceled(true);
+        } finally {
+            stopped.set(true);
+            recording.finish();
+        }
+
+        Throwable error = discoveryError.get();
+        if (error instanceof ProcessCanceledException) {
+            result.setCanceled(true);
+        } else if (error != null) {
+            result.addError(label, error.getMessage());
+        }
+        result.finish();
+        OneClickMetrics.logSummary();
+        return result;
+    }
+
+    /**
+     * 把分块放入队列，队列已满时等待；处理已停止或已取消时放弃并返回false
+     */
+    private static boolean offer(BlockingQueue<List<VirtualFile>> chunks, List<VirtualFile> chunk,
+                                 AtomicBoolean stopped, ProgressIndicator indicator) {
+        try {
+            while (!stopped.get() && !indicator.isCanceled()) {
+                if (chunks.offer(chunk, 50, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * 分析阶段：并行计算一个分块中所有文件的生成计划
+     */
+    private List<FileAnalysis> analyze(List<VirtualFile> javaFiles, ProgressIndicator indicator, boolean detectDrift) {
+        List<FileAnalysis> analyses = new ArrayList<>(javaFiles.size());
+        List<FileAnalysis> toAnalyze = new ArrayList<>(javaFiles.size());
+        Set<VirtualFile> candidates = findBeanCandidates(javaFiles);
+        for (VirtualFile file : javaFiles) {
+            FileAnalysis analysis = new FileAnalysis(file);
+            analysis.filtered = candidates != null && !candidates.contains(file);
+            analyses.add(analysis);
+            if (!analysis.filtered) {
+                toAnalyze.add(analysis);
+            }
+        }
+
+        PsiManager psiManager = PsiManager.getInstance(project);
+        GenerationFingerprintStore fingerprintStore = GenerationFingerprintStore.getInstance(project);
+        boolean incremental = this.incremental != null
+                ? this.incremental
+                : OneClickSettings.getInstance().isEnableIncrementalGeneration();
+
+        boolean completed = JobLauncher.getInstance().invokeConcurrentlyUnderProgress(toAnalyze, indicator, analysis -> {
+            try {
+                // 非阻塞读操作：遇到写操作时会自动让出并重新执行，不会阻塞用户输入
+                analysis.plans = ReadAction.nonBlocking(() -> {
+                    analysis.skippedClasses = 0;
+                    analysis.drifts = Collections.emptyList();
+                    if (!analysis.file.isValid()) {
+                        return Collections.<GenerationPlan>emptyList();
+                    }
+                    PsiFile psiFile = psiManager.findFile(analysis.file);
+                    analysis.javaFile = psiFile instanceof PsiJavaFile;
+                    if (!analysis.javaFile) {
+                        return Collections.<GenerationPlan>emptyList();
+                    }
+
+                    List<GenerationPlan> plans = new ArrayList<>();
+                    List<BatchPreview.Entry> drifts = new ArrayList<>();
+                    for (PsiClass psiClass : GenerationPlanner.getGeneratableClasses(psiFile)) {
+                        // 增量模式：指纹未变化的类跳过
+                        if (incremental && fingerprintStore.isUpToDate(psiClass)) {
+                            analysis.skippedClasses++;
+                            continue;
+                        }
+                        GenerationPlan plan = GenerationPlanner.planClass(psiClass);
+                        plans.add(plan);
+
+                        // 只读检查模式：记录重新生成会产生的差异
+                        if (detectDrift) {
+                            ClassDrift drift = GenerationPlanner.detectDrift(psiClass, plan);
+                            if (drift.hasDrift()) {
+                                drifts.add(new BatchPreview.Entry(analysis.file, drift, plan,
+                                        ClassFingerprint.compute(psiClass)));
+                            }
+                        }
+                    }
+                    analysis.drifts = drifts;
+                    return plans;
+                }).inSmartMode(project).executeSynchronously();
+            } catch (ProcessCanceledException e) {
+                throw e;
+            } catch (Exception e) {
+                analysis.error = e.getMessage();
+            }
+
+            indicator.setText(I18nUtils.message("message.batch.analyzing", analysis.file.getName()));
+            return true;
+        });
+
+        if (!completed) {
+            throw new ProcessCanceledException();
+        }
+        return analyses;
+    }
+
+    /**
+     * 按索引预筛选JavaBean候选文件，未启用预筛选时返回null
+     * 只有启用自动检测类类型时才筛选，否则所有类都按JavaBean和业务类同时生成
+     */
+    @Nullable
+    private Set<VirtualFile> findBeanCandidates(List<VirtualFile> javaFiles) {
+        OneClickSettings settings = OneClickSettings.getInstance();
+        if (!settings.isBatchBeanCandidatesOnly() || !settings.isAutoDetectClassType() || javaFiles.isEmpty()) {
+            return null;
+        }
+        return ReadAction.nonBlocking(() -> BeanCandidateFilter.findCandidates(project, javaFiles))
+                .inSmartMode(project)
+                .executeSynchronously();
+    }
+
+    /**
+     * 一个写批量操作的撤销组，同一组的写命令撤销时合并为一步
+     */
+    private static String newGroupId() {
+        return "OneClick.BatchGenerate." + System.nanoTime();
+    }
+
+    /**
+     * 在一个写命令中应用一个分块，并记录分块耗时
+     */
+    private void applyInCommand(List<FileAnalysis> chunk, int processedBefore, int totalFiles, String groupId,
+                                OneClickSettings settings, ProgressIndicator indicator, BatchResult result) {
+        long chunkStartTime = System.nanoTime();
+        try {
+            WriteCommandAction.writeCommandAction(project)
+                    .withName(I18nUtils.message("action.batch.title"))
+                    .withGroupId(groupId)
+                    .withGlobalUndo()
+                    .run(() -> applyChunk(chunk, processedBefore, totalFiles, settings, indicator, result));
+        } finally {
+            release(chunk);
+        }
+
+        result.addChunkTiming((System.nanoTime() - chunkStartTime) / 1_000_000);
+        if (checkpoint != null) {
+            checkpoint.saveIfDue();
+        }
+    }
+
+    /**
+     * 释放分块的生成计划（包括其中的智能指针），分块处理结束后调用
+     */
+    private static void release(List<FileAnalysis> chunk) {
+        for (FileAnalysis analysis : chunk) {
+            for (GenerationPlan plan : analysis.plans) {
+                plan.dispose();
+            }
+            analysis.plans = Collections.emptyList();
+            analysis.drifts = Collections.emptyList();
+        }
+    }
+
+    /**
+     * 在一个写命令中应用一个分块，分块结束时统一提交并保存文档
+     */
+    private void applyChunk(List<FileAnalysis> chunk, int processedBefore, int totalFiles,
+                            OneClickSettings settings, ProgressIndicator indicator, BatchResult result) {
+        PsiDocumentManager documentManager = PsiDocumentManager.getInstance(project);
+        GenerationFingerprintStore fingerprintStore = GenerationFingerprintStore.getInstance(project);
+        Set<Document> touchedDocuments = new LinkedHashSet<>();
+        List<VirtualFile> completedFiles = new ArrayList<>(chunk.size());
+        int processedFiles = processedBefore;
+
+        for (FileAnalysis analysis : chunk) {
+            indicator.setText(I18nUtils.message("message.batch.processing", analysis.file.getName()));
+            if (totalFiles > 0) {
+                indicator.setFraction((double) processedFiles / totalFiles);
+            }
+            processedFiles++;
+
+            if (analysis.filtered) {
+                result.addFiltered();
+                completedFiles.add(analysis.file);
+                continue;
+            }
+            if (analysis.error != null) {
+                addError(result, analysis.file, analysis.error);
+                continue;
+            }
+            if (!analysis.javaFile) {
+                completedFiles.add(analysis.file);
+                continue;
+            }
+            if (analysis.plans.isEmpty() && analysis.skippedClasses > 0) {
+                result.addSkipped();
+                completedFiles.add(analysis.file);
+                continue;
+            }
+
+            try {
+                for (int i = 0; i < analysis.plans.size(); i++) {
+                    String expectedFingerprint = analysis.fingerprints != null ? analysis.fingerprints.get(i) : null;
+                    PsiFile psiFile = applyPlan(analysis.plans.get(i), expectedFingerprint, settings, fingerprintStore);
+                    Document document = documentManager.getDocument(psiFile);
+                    if (document != null) {
+                        touchedDocuments.add(document);
+                    }
+                }
+                result.addSuccess();
+                completedFiles.add(analysis.file);
+            } catch (ProcessCanceledException e) {
+                throw e;
+            } catch (Exception e) {
+                addError(result, analysis.file, e.getMessage());
+            }
+        }
+
+        // 每个分块只提交一次文档
+        for (Document document : touchedDocuments) {
+            documentManager.doPostponedOperationsAndUnblockDocument(document);
+        }
+        documentManager.commitAllDocuments();
+
+        // 保存本分块修改的文档：未保存的文档会一直被强引用，保存后文档和语法树可以被回收
+        FileDocumentManager fileDocumentManager = FileDocumentManager.getInstance();
+        for (Document document : touchedDocuments) {
+            fileDocumentManager.saveDocument(document);
+        }
+
+        // 文档保存后才记入断点，恢复时不会跳过修改未落盘的文件
+        if (checkpoint != null) {
+            for (VirtualFile file : completedFiles) {
+                checkpoint.markProcessed(file);
+            }
+        }
+    }
+
+    private void addError(BatchResult result, VirtualFile file, String message) {
+        result.addError(file.getName(), message);
+        if (checkpoint != null) {
+            checkpoint.markFailed(file, message);
+        }
+    }
+
+    /**
+     * 应用单个类的生成计划（在写操作中调用）
+     *
+     * @param expectedFingerprint 计算计划时类的指纹，当前指纹不同时重新计算计划；为null时不检查
+     */
+    private PsiFile applyPlan(GenerationPlan plan, @Nullable String expectedFingerprint,
+                              OneClickSettings settings, GenerationFingerprintStore fingerprintStore) {
+        PsiClass psiClass = plan.getPsiClass();
+        if (psiClass == null || !psiClass.isValid()) {
+            throw new IllegalStateException("类 " + plan.getClassName() + " 在分析后已失效");
+        }
+
+        // 试运行之后类被修改过，按当前内容重新计算计划
+        if (expectedFingerprint != null && !expectedFingerprint.equals(ClassFingerprint.compute(psiClass))) {
+            GenerationPlan replanned = GenerationPlanner.planClass(psiClass);
+            try {
+                return applyPlan(replanned, null, settings, fingerprintStore);
+            } finally {
+                replanned.dispose();
+            }
+        }
+
+        generator.performSmartGeneration(project, psiClass, plan);
+        // 字段块整体替换后需要重新解析类
+        psiClass = plan.getPsiClass();
+        if (psiClass == null) {
+            throw new IllegalStateException("类 " + plan.getClassName() + " 在生成后已失效");
+        }
+
+        // 如果设置中启用了内部类处理，则处理内部类
+        if (settings.isProcessInnerClasses()) {
+            JavaBeanUtils.processInnerClasses(psiClass, settings);
+        }
+
+        // 记录生成后的指纹，下次批量生成时未变化的类会被跳过
+        fingerprintStore.record(psiClass);
+        return psiClass.getContainingFile();
+    }
+
+    /**
+     * 单个文件的分析结果
+     */
+    private static final class FileAnalysis {
+        private final VirtualFile file;
+        // 被索引预筛选排除，不分析也不修改
+        private boolean filtered;
+        private volatile List<GenerationPlan> plans = Collections.emptyList();
+        private volatile boolean javaFile;
+        private volatile String error;
+        private volatile int skippedClasses;
+        // 有差异的类（只读检查和试运行）
+        private volatile List<BatchPreview.Entry> drifts = Collections.emptyList();
+        // 试运行时各计划对应的类指纹，与plans一一对应，普通批量生成时为null
+        private List<String> fingerprints;
+
+        private FileAnalysis(VirtualFile file) {
+            this.file = file;
+        }
+    }
+}
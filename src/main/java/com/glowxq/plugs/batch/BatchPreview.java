@@ -0,0 +1,126 @@
+package com.glowxq.plugs.batch;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 批量生成的预览结果（试运行）
+ * 只保留会产生修改的类的生成计划，确认后直接按这些计划写入，不需要重新分析；
+ * 未应用时需要调用dispose释放计划中的智能指针
+ *
+ * @author glowxq
+ */
+public final class BatchPreview {
+
+    /**
+     * 一个会被修改的类
+     */
+    public static final class Entry {
+        private final VirtualFile file;
+        private final ClassDrift drift;
+        private final GenerationPlan plan;
+        private final String fingerprint;
+
+        Entry(@NotNull VirtualFile file, @NotNull ClassDrift drift, @NotNull GenerationPlan plan,
+              @NotNull String fingerprint) {
+            this.file = file;
+            this.drift = drift;
+            this.plan = plan;
+            this.fingerprint = fingerprint;
+        }
+
+        @NotNull
+        public VirtualFile getFile() {
+            return file;
+        }
+
+        @NotNull
+        public ClassDrift getDrift() {
+            return drift;
+        }
+
+        @NotNull
+        GenerationPlan getPlan() {
+            return plan;
+        }
+
+        /**
+         * 预览时类的指纹，应用前类被修改过时会重新计算计划
+         */
+        @NotNull
+        String getFingerprint() {
+            return fingerprint;
+        }
+    }
+
+    private final List<Entry> entries;
+    private final BatchResult analysisResult;
+
+    BatchPreview(@NotNull List<Entry> entries, @NotNull BatchResult analysisResult) {
+        this.entries = Collections.unmodifiableList(entries);
+        this.analysisResult = analysisResult;
+    }
+
+    @NotNull
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * 分析阶段的统计（文件数、跳过和出错的文件）
+     */
+    @NotNull
+    public BatchResult getAnalysisResult() {
+        return analysisResult;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public int getChangedFileCount() {
+        Set<VirtualFile> files = new HashSet<>();
+        for (Entry entry : entries) {
+            files.add(entry.file);
+        }
+        return files.size();
+    }
+
+    public int getAccessorsToAdd() {
+        int total = 0;
+        for (Entry entry : entries) {
+            total += entry.drift.getAccessorsToAdd();
+        }
+        return total;
+    }
+
+    public int getAccessorsToUpdate() {
+        int total = 0;
+        for (Entry entry : entries) {
+            total += entry.drift.getAccessorsToUpdate();
+        }
+        return total;
+    }
+
+    public int getAccessorsToRemove() {
+        int total = 0;
+        for (Entry entry : entries) {
+            total += entry.drift.getAccessorsToRemove();
+        }
+        return total;
+    }
+
+    /**
+     * 放弃预览，释放所有计划
+     */
+    public void dispose() {
+        for (Entry entry : entries) {
+            entry.plan.dispose();
+        }
+    }
+}
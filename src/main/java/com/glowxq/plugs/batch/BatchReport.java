@@ -0,0 +1,117 @@
+package com.glowxq.plugs.batch;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 批量生成结果的机器可读报告（JSON）
+ *
+ * @author glowxq
+ */
+public final class BatchReport {
+
+    private BatchReport() {
+    }
+
+    /**
+     * 生成JSON报告
+     *
+     * @param result         批量生成结果
+     * @param mode           运行模式，check或apply
+     * @param basePath       项目根路径，文件路径会转换为相对路径，为null时保持绝对路径
+     * @param durationMillis 总耗时
+     */
+    @NotNull
+    public static String toJson(@NotNull BatchResult result, @NotNull String mode,
+                                @Nullable String basePath, long durationMillis) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"mode\": ").append(quote(mode)).append(",\n");
+        json.append("  \"canceled\": ").append(result.isCanceled()).append(",\n");
+        json.append("  \"durationMillis\": ").append(durationMillis).append(",\n");
+        json.append("  \"totalFiles\": ").append(result.getTotalFiles()).append(",\n");
+        json.append("  \"processedFiles\": ").append(result.getSuccessCount()).append(",\n");
+        json.append("  \"skippedFiles\": ").append(result.getSkippedCount()).append(",\n");
+        json.append("  \"filteredFiles\": ").append(result.getFilteredCount()).append(",\n");
+        json.append("  \"errorCount\": ").append(result.getErrorCount()).append(",\n");
+        Path errorReport = result.getErrorReportPath();
+        json.append("  \"errorReport\": ").append(errorReport != null ? quote(errorReport.toString()) : "null").append(",\n");
+
+        json.append("  \"errors\": [");
+        List<String> errors = result.getErrorMessages();
+        for (int i = 0; i < errors.size(); i++) {
+            json.append(i == 0 ? "\n" : ",\n").append("    ").append(quote(errors.get(i)));
+        }
+        json.append(errors.isEmpty() ? "],\n" : "\n  ],\n");
+
+        List<ClassDrift> drifts = result.getDrifts();
+        json.append("  \"driftCount\": ").append(drifts.size()).append(",\n");
+        json.append("  \"drift\": [");
+        for (int i = 0; i < drifts.size(); i++) {
+            ClassDrift drift = drifts.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    {")
+                    .append("\"file\": ").append(quote(relativize(drift.getFilePath(), basePath)))
+                    .append(", \"class\": ").append(quote(drift.getClassName()))
+                    .append(", \"accessorsToAdd\": ").append(drift.getAccessorsToAdd())
+                    .append(", \"accessorsToUpdate\": ").append(drift.getAccessorsToUpdate())
+                    .append(", \"accessorsToRemove\": ").append(drift.getAccessorsToRemove())
+                    .append(", \"fieldOrder\": ").append(drift.isFieldOrderDrift())
+                    .append(", \"missingLogger\": ").append(drift.isMissingLogger())
+                    .append("}");
+        }
+        json.append(drifts.isEmpty() ? "],\n" : "\n  ],\n");
+
+        json.append("  \"chunkMillis\": ").append(result.getChunkMillis()).append("\n");
+        json.append("}\n");
+        return json.toString();
+    }
+
+    private static String relativize(String path, String basePath) {
+        if (basePath != null && path.startsWith(basePath + "/")) {
+            return path.substring(basePath.length() + 1);
+        }
+        return path;
+    }
+
+    /**
+     * JSON字符串转义，null输出为null
+     */
+    public static String quote(String text) {
+        if (text == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(text.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
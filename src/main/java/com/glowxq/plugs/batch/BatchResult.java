@@ -0,0 +1,166 @@
+package com.glowxq.plugs.batch;
+
+import com.glowxq.plugs.utils.I18nUtils;
+import com.intellij.openapi.application.PathManager;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 批量生成结果统计
+ *
+ * @author glowxq
+ */
+public class BatchResult {
+
+    // 内存中保留的错误条数，超出的错误写入日志目录下的报告文件
+    private static final int MAX_ERROR_MESSAGES = 200;
+
+    private int totalFiles;
+    private int successCount;
+    private int skippedCount;
+    private int filteredCount;
+    private boolean canceled;
+    private final BatchErrorLog errorLog = new BatchErrorLog(Paths.get(PathManager.getLogPath()), MAX_ERROR_MESSAGES);
+    private final List<ClassDrift> drifts = new ArrayList<>();
+    private final List<Long> chunkMillis = new ArrayList<>();
+    private int chunkSize;
+
+    public BatchResult(int totalFiles) {
+        this.totalFiles = totalFiles;
+    }
+
+    public synchronized void addSuccess() {
+        successCount++;
+    }
+
+    /**
+     * 记录一个因指纹未变化而跳过的文件
+     */
+    public synchronized void addSkipped() {
+        skippedCount++;
+    }
+
+    /**
+     * 记录一个被索引预筛选排除的文件（不是JavaBean候选）
+     */
+    public synchronized void addFiltered() {
+        filteredCount++;
+    }
+
+    public synchronized void addError(String fileName, String message) {
+        errorLog.add(fileName + ": " + message);
+    }
+
+    /**
+     * 批量处理结束，关闭错误报告文件
+     */
+    public synchronized void finish() {
+        errorLog.close();
+    }
+
+    /**
+     * 记录一个与期望生成结果不一致的类（只读检查模式）
+     */
+    public synchronized void addDrift(ClassDrift drift) {
+        drifts.add(drift);
+    }
+
+    /**
+     * 记录一个写入分块的耗时
+     */
+    public synchronized void addChunkTiming(long millis) {
+        chunkMillis.add(millis);
+    }
+
+    public synchronized void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public synchronized void setCanceled(boolean canceled) {
+        this.canceled = canceled;
+    }
+
+    /**
+     * 边发现边处理时，累计已发现的文件数
+     */
+    public synchronized void addTotalFiles(int count) {
+        this.totalFiles += count;
+    }
+
+    public synchronized int getTotalFiles() {
+        return totalFiles;
+    }
+
+    public synchronized int getSuccessCount() {
+        return successCount;
+    }
+
+    public synchronized int getErrorCount() {
+        return errorLog.getCount();
+    }
+
+    public synchronized int getSkippedCount() {
+        return skippedCount;
+    }
+
+    public synchronized int getFilteredCount() {
+        return filteredCount;
+    }
+
+    public synchronized boolean isCanceled() {
+        return canceled;
+    }
+
+    /**
+     * 内存中保留的错误（最多MAX_ERROR_MESSAGES条，全部错误见getErrorReportPath）
+     */
+    public synchronized List<String> getErrorMessages() {
+        return errorLog.getMessages();
+    }
+
+    /**
+     * 包含全部错误的报告文件，错误数未超出上限时为null
+     */
+    @Nullable
+    public synchronized Path getErrorReportPath() {
+        return errorLog.getReportPath();
+    }
+
+    public synchronized List<ClassDrift> getDrifts() {
+        return Collections.unmodifiableList(new ArrayList<>(drifts));
+    }
+
+    public synchronized boolean hasDrift() {
+        return !drifts.isEmpty();
+    }
+
+    public synchronized int getChunkSize() {
+        return chunkSize;
+    }
+
+    public synchronized List<Long> getChunkMillis() {
+        return Collections.unmodifiableList(new ArrayList<>(chunkMillis));
+    }
+
+    /**
+     * 分块耗时摘要，用于调整分块大小
+     */
+    public synchronized String getChunkSummary() {
+        if (chunkMillis.isEmpty()) {
+            return "";
+        }
+        long total = 0;
+        long slowest = 0;
+        for (long millis : chunkMillis) {
+            total += millis;
+            slowest = Math.max(slowest, millis);
+        }
+        return I18nUtils.message("message.batch.chunks",
+                chunkMillis.size(), chunkSize, total / chunkMillis.size(), slowest);
+    }
+}
@@ -0,0 +1,86 @@
+package com.glowxq.plugs.batch;
+
+import com.glowxq.plugs.utils.ClassTypeDetector;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationOwner;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.impl.java.stubs.index.JavaStubIndexKeys;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StubIndex;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 批量生成的JavaBean候选文件预筛选
+ * 只使用注解存根索引和目录对应的包名，不解析文件的语法树：
+ * 类上带有JavaBean常见注解，或者所在包匹配JavaBean包规则的文件才是候选文件，
+ * 只有候选文件会进入分析阶段，由ClassTypeDetector做完整的类型检测
+ *
+ * @author glowxq
+ */
+final class BeanCandidateFilter {
+
+    private BeanCandidateFilter() {
+    }
+
+    /**
+     * 从给定文件中筛选出JavaBean候选文件（需要在智能模式的读操作中调用）
+     */
+    @NotNull
+    static Set<VirtualFile> findCandidates(@NotNull Project project, @NotNull Collection<VirtualFile> javaFiles) {
+        ApplicationManager.getApplication().assertReadAccessAllowed();
+
+        Set<VirtualFile> candidates = new HashSet<>();
+
+        // 1. 包名匹配：包名由所在目录得到，不需要读取文件
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        for (VirtualFile file : javaFiles) {
+            ProgressManager.checkCanceled();
+            VirtualFile directory = file.getParent();
+            String packageName = directory != null ? fileIndex.getPackageNameByDirectory(directory) : null;
+            if (packageName != null && ClassTypeDetector.isJavaBeanPackage(packageName)) {
+                candidates.add(file);
+            }
+        }
+
+        // 2. 类注解：按注解简单名称查询存根索引，只检查还不是候选的文件
+        Set<VirtualFile> remaining = new HashSet<>(javaFiles);
+        remaining.removeAll(candidates);
+        if (remaining.isEmpty()) {
+            return candidates;
+        }
+        GlobalSearchScope scope = GlobalSearchScope.filesScope(project, remaining);
+        for (String annotationName : ClassTypeDetector.getBeanAnnotationNames()) {
+            StubIndex.getInstance().processElements(JavaStubIndexKeys.ANNOTATIONS, annotationName, project, scope,
+                    PsiAnnotation.class, annotation -> {
+                        if (isClassAnnotation(annotation)) {
+                            PsiFile psiFile = annotation.getContainingFile();
+                            VirtualFile file = psiFile != null ? psiFile.getVirtualFile() : null;
+                            if (file != null) {
+                                candidates.add(file);
+                            }
+                        }
+                        return true;
+                    });
+        }
+        return candidates;
+    }
+
+    /**
+     * 注解是否直接标注在类上（字段、方法上的注解不参与类型检测）
+     */
+    private static boolean isClassAnnotation(PsiAnnotation annotation) {
+        PsiAnnotationOwner owner = annotation.getOwner();
+        return owner instanceof PsiModifierList && ((PsiModifierList) owner).getParent() instanceof PsiClass;
+    }
+}
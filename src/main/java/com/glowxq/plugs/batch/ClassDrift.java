@@ -0,0 +1,82 @@
+package com.glowxq.plugs.batch;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 单个类与期望生成结果之间的差异
+ * 只读检查模式下记录，表示重新生成会修改该类
+ *
+ * @author glowxq
+ */
+public final class ClassDrift {
+
+    private final String filePath;
+    private final String className;
+    private final int accessorsToAdd;
+    private final int accessorsToUpdate;
+    private final int accessorsToRemove;
+    private final boolean fieldOrderDrift;
+    private final boolean missingLogger;
+
+    public ClassDrift(@NotNull String filePath, @NotNull String className,
+                      int accessorsToAdd, int accessorsToUpdate, int accessorsToRemove,
+                      boolean fieldOrderDrift, boolean missingLogger) {
+        this.filePath = filePath;
+        this.className = className;
+        this.accessorsToAdd = accessorsToAdd;
+        this.accessorsToUpdate = accessorsToUpdate;
+        this.accessorsToRemove = accessorsToRemove;
+        this.fieldOrderDrift = fieldOrderDrift;
+        this.missingLogger = missingLogger;
+    }
+
+    @NotNull
+    public String getFilePath() {
+        return filePath;
+    }
+
+    @NotNull
+    public String getClassName() {
+        return className;
+    }
+
+    public int getAccessorsToAdd() {
+        return accessorsToAdd;
+    }
+
+    public int getAccessorsToUpdate() {
+        return accessorsToUpdate;
+    }
+
+    public int getAccessorsToRemove() {
+        return accessorsToRemove;
+    }
+
+    public boolean isFieldOrderDrift() {
+        return fieldOrderDrift;
+    }
+
+    public boolean isMissingLogger() {
+        return missingLogger;
+    }
+
+    /**
+     * 是否存在任何差异
+     */
+    public boolean hasDrift() {
+        return accessorsToAdd + accessorsToUpdate + accessorsToRemove > 0 || fieldOrderDrift || missingLogger;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassDrift{" +
+                "filePath='" + filePath + '\'' +
+                ", className='" + className + '\'' +
+                ", accessorsToAdd=" + accessorsToAdd +
+                ", accessorsToUpdate=" + accessorsToUpdate +
+                ", accessorsToRemove=" + accessorsToRemove +
+                ", fieldOrderDrift=" + fieldOrderDrift +
+                ", missingLogger=" + missingLogger +
+                '}';
+    }
+}
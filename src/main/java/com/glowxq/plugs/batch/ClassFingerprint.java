@@ -0,0 +1,167 @@
+package com.glowxq.plugs.batch;
+
+import com.glowxq.plugs.settings.OneClickSettings;
+import com.glowxq.plugs.utils.JavaBeanUtils;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiType;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 类内容指纹
+ * 由类注解、父类和接口（影响类类型检测）、字段（顺序、名称、类型、修饰符）、方法签名、
+ * 访问器和toString的方法体以及影响生成结果的设置计算得出，指纹不变说明上次生成后类没有需要重新生成的变化
+ *
+ * @author glowxq
+ */
+public final class ClassFingerprint {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ClassFingerprint() {
+    }
+
+    /**
+     * 计算类的指纹（需要在读操作中调用）
+     */
+    @NotNull
+    public static String compute(@NotNull PsiClass psiClass) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = hashString(hash, settingsSignature(OneClickSettings.getInstance()));
+        hash = hashClass(hash, psiClass);
+        return Long.toHexString(hash);
+    }
+
+    /**
+     * 获取类在指纹存储中的键
+     */
+    @NotNull
+    public static String keyOf(@NotNull PsiClass psiClass) {
+        String qualifiedName = psiClass.getQualifiedName();
+        if (qualifiedName != null) {
+            return qualifiedName;
+        }
+        PsiFile containingFile = psiClass.getContainingFile();
+        VirtualFile virtualFile = containingFile != null ? containingFile.getVirtualFile() : null;
+        return (virtualFile != null ? virtualFile.getUrl() : "") + "#" + psiClass.getName();
+    }
+
+    private static long hashClass(long hash, PsiClass psiClass) {
+        hash = hashString(hash, psiClass.getName());
+
+        // 注解、父类和接口：类类型检测依赖这些信息，变化后JavaBean/业务类的判断可能不同
+        for (PsiAnnotation annotation : psiClass.getAnnotations()) {
+            hash = hashSource(hash, annotation.getText());
+        }
+        for (PsiClassType type : psiClass.getExtendsListTypes()) {
+            hash = hashString(hash, type.getCanonicalText());
+        }
+        hash = hashChar(hash, '|');
+        for (PsiClassType type : psiClass.getImplementsListTypes()) {
+            hash = hashString(hash, type.getCanonicalText());
+        }
+
+        // 字段：包括静态字段，因为字段顺序和日志字段都会影响生成结果
+        Set<String> managedMethodNames = new HashSet<>();
+        managedMethodNames.add("toString");
+        boolean fluentSetters = OneClickSettings.getInstance().isGenerateFluentSetters();
+        for (PsiField field : psiClass.getFields()) {
+            managedMethodNames.add(JavaBeanUtils.getGetterName(field));
+            managedMethodNames.add(JavaBeanUtils.getSetterName(field, fluentSetters));
+            hash = hashString(hash, field.getName());
+            hash = hashString(hash, field.getType().getCanonicalText());
+            hash = hashChar(hash, field.hasModifierProperty(PsiModifier.STATIC) ? 'S' : '-');
+            hash = hashChar(hash, field.hasModifierProperty(PsiModifier.FINAL) ? 'F' : '-');
+            hash = hashChar(hash, visibilityOf(field));
+        }
+
+        // 方法签名：手工删除或新增的访问器会使指纹失效
+        for (PsiMethod method : psiClass.getMethods()) {
+            hash = hashString(hash, method.getName());
+            PsiType returnType = method.getReturnType();
+            hash = hashString(hash, returnType != null ? returnType.getCanonicalText() : "");
+            for (PsiParameter parameter : method.getParameterList().getParameters()) {
+                hash = hashString(hash, parameter.getType().getCanonicalText());
+            }
+            // 访问器和toString的方法体：手工改坏的生成方法需要重新生成
+            PsiCodeBlock body = method.getBody();
+            if (body != null && managedMethodNames.contains(method.getName())) {
+                hash = hashSource(hash, body.getText());
+            }
+        }
+
+        // 内部类
+        for (PsiClass innerClass : psiClass.getInnerClasses()) {
+            hash = hashClass(hash, innerClass);
+        }
+        return hash;
+    }
+
+    /**
+     * 影响生成结果的设置
+     */
+    private static String settingsSignature(OneClickSettings settings) {
+        return String.valueOf(settings.isGenerateSeparatorComment()) + settings.isGenerateGetterSetter()
+                + settings.isGenerateToString() + settings.getToStringStyle()
+                + settings.isGenerateFluentSetters() + settings.isAutoDetectClassType()
+                + settings.isProcessInnerClasses() + settings.isGenerateInnerClassSeparator()
+                + settings.getMaxInnerClassDepth()
+                + settings.isGenerateLogger() + settings.getLoggerFieldName() + settings.getLoggerType()
+                + settings.isGenerateSerialVersionUID()
+                + settings.isEnableFieldSorting() + settings.getFieldSortType() + settings.isSortAscending()
+                + settings.isEnableModifierSorting() + settings.getModifierSortOrder()
+                + settings.isEnablePackageDetection() + settings.getJavaBeanPackagePatterns()
+                + settings.getBusinessClassPackagePatterns();
+    }
+
+    private static char visibilityOf(PsiField field) {
+        if (field.hasModifierProperty(PsiModifier.PUBLIC)) {
+            return 'u';
+        } else if (field.hasModifierProperty(PsiModifier.PROTECTED)) {
+            return 'o';
+        } else if (field.hasModifierProperty(PsiModifier.PRIVATE)) {
+            return 'i';
+        }
+        return 'p';
+    }
+
+    private static long hashString(long hash, String text) {
+        if (text != null) {
+            for (int i = 0; i < text.length(); i++) {
+                hash = hashChar(hash, text.charAt(i));
+            }
+        }
+        // 分隔符，避免 "ab"+"c" 与 "a"+"bc" 冲突
+        return hashChar(hash, '\u0000');
+    }
+
+    /**
+     * 哈希代码文本，忽略空白，只调整格式不会使指纹失效
+     */
+    private static long hashSource(long hash, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                hash = hashChar(hash, c);
+            }
+        }
+        return hashChar(hash, '\u0000');
+    }
+
+    private static long hashChar(long hash, char c) {
+        hash ^= c;
+        return hash * FNV_PRIME;
+    }
+}
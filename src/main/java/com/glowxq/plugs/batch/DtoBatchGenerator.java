@@ -0,0 +1,282 @@
+package com.glowxq.plugs.batch;
+
+import com.glowxq.plugs.metrics.OperationHistory;
+import com.glowxq.plugs.settings.OneClickSettings;
+import com.glowxq.plugs.utils.ClassTypeDetector;
+import com.glowxq.plugs.utils.DtoClassGenerator;
+import com.glowxq.plugs.utils.I18nUtils;
+import com.glowxq.plugs.utils.JavaBeanUtils;
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 批量生成DTO/VO/BO类
+ * 分析阶段在并行的非阻塞读操作中生成所有文件内容，写入阶段在一个写命令中创建或覆盖所有文件；
+ * 已存在文件的处理方式在开始前一次确定，不再逐个询问
+ *
+ * @author glowxq
+ */
+public final class DtoBatchGenerator {
+
+    // 已生成的数据对象后缀，这些类和所在目录不再作为源类
+    private static final Set<String> SUFFIXES = Set.of("DTO", "VO", "BO");
+    // 结果中最多保留的错误信息数
+    private static final int MAX_ERROR_MESSAGES = 200;
+
+    /**
+     * 目标文件已存在时的处理方式
+     */
+    public enum OverwritePolicy {
+        SKIP,
+        OVERWRITE
+    }
+
+    /**
+     * 批量生成结果
+     */
+    public static final class Result {
+        private int sourceClasses;
+        private int created;
+        private int overwritten;
+        private int skippedExisting;
+        private int errorCount;
+        private final List<String> errors = new ArrayList<>();
+        private boolean canceled;
+
+        public int getSourceClasses() {
+            return sourceClasses;
+        }
+
+        public int getCreated() {
+            return created;
+        }
+
+        public int getOverwritten() {
+            return overwritten;
+        }
+
+        public int getSkippedExisting() {
+            return skippedExisting;
+        }
+
+        public int getErrorCount() {
+            return errorCount;
+        }
+
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        private void addError(String message) {
+            errorCount++;
+            if (errors.size() < MAX_ERROR_MESSAGES) {
+                errors.add(message);
+            }
+        }
+    }
+
+    /**
+     * 一个要写入的文件，content为null表示目标已存在且按策略跳过
+     */
+    private static final class Target {
+        private final VirtualFile sourceDir;
+        private final String fileName;
+        private final String content;
+
+        private Target(VirtualFile sourceDir, String fileName, @Nullable String content) {
+            this.sourceDir = sourceDir;
+            this.fileName = fileName;
+            this.content = content;
+        }
+    }
+
+    private final Project project;
+
+    public DtoBatchGenerator(@NotNull Project project) {
+        this.project = project;
+    }
+
+    /**
+     * 为选中文件中的实体类批量生成数据对象（在后台线程中调用）
+     *
+     * @param suffix DTO、VO或BO，生成的文件放在源类目录下同名的小写子目录中
+     */
+    @NotNull
+    public Result generate(@NotNull List<VirtualFile> javaFiles, @NotNull String suffix,
+                           @NotNull OverwritePolicy policy, @NotNull ProgressIndicator indicator) {
+        Result result = new Result();
+        OperationHistory.Recording recording = OperationHistory.getInstance().begin("BatchDto", null);
+        try {
+            List<Target> targets = analyze(javaFiles, suffix, policy, indicator, result);
+            if (result.canceled || targets.isEmpty()) {
+                return result;
+            }
+
+            indicator.setText(I18nUtils.message("message.dto.batch.writing", targets.size()));
+            indicator.setIndeterminate(true);
+            // 所有文件在一个写命令中写入，只产生一个撤销步骤
+            WriteCommandAction.writeCommandAction(project)
+                    .withName(I18nUtils.message("action.dto.batch.title"))
+                    .withGlobalUndo()
+                    .run(() -> write(targets, suffix.toLowerCase(), policy, result));
+            return result;
+        } finally {
+            recording.setFieldCount(result.sourceClasses);
+            recording.finish();
+        }
+    }
+
+    /**
+     * 分析阶段：并行读取所有源类并生成文件内容，按文件顺序返回
+     */
+    private List<Target> analyze(List<VirtualFile> javaFiles, String suffix, OverwritePolicy policy,
+                                 ProgressIndicator indicator, Result result) {
+        String subDirName = suffix.toLowerCase();
+        PsiManager psiManager = PsiManager.getInstance(project);
+        boolean autoDetect = OneClickSettings.getInstance().isAutoDetectClassType();
+
+        // 每个文件的结果放在对应下标，保证写入顺序稳定
+        List<List<Target>> perFile = new ArrayList<>(Collections.nCopies(javaFiles.size(), null));
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> indexes = new ArrayList<>(javaFiles.size());
+        for (int i = 0; i < javaFiles.size(); i++) {
+            indexes.add(i);
+        }
+
+        indicator.setIndeterminate(false);
+        boolean completed = JobLauncher.getInstance().invokeConcurrentlyUnderProgress(indexes, indicator, index -> {
+            VirtualFile file = javaFiles.get(index);
+            try {
+                // 非阻塞读操作：遇到写操作时会自动让出并重新执行，不会阻塞用户输入
+                List<Target> targets = ReadAction.nonBlocking(() -> {
+                    VirtualFile sourceDir = file.isValid() ? file.getParent() : null;
+                    if (sourceDir == null || SUFFIXES.contains(sourceDir.getName().toUpperCase())) {
+                        return Collections.<Target>emptyList();
+                    }
+                    PsiFile psiFile = psiManager.findFile(file);
+                    if (!(psiFile instanceof PsiJavaFile)) {
+                        return Collections.<Target>emptyList();
+                    }
+
+                    VirtualFile targetDir = sourceDir.findChild(subDirName);
+                    List<Target> fileTargets = new ArrayList<>();
+                    for (PsiClass psiClass : GenerationPlanner.getGeneratableClasses(psiFile)) {
+                        if (!isEntity(psiClass, autoDetect)) {
+                            continue;
+                        }
+                        String newClassName = psiClass.getName() + suffix;
+                        String fileName = newClassName + ".java";
+                        boolean exists = targetDir != null && targetDir.findChild(fileName) != null;
+                        // 跳过已存在的文件时不需要生成内容
+                        String content = exists && policy == OverwritePolicy.SKIP
+                                ? null
+                                : DtoClassGenerator.generateContent(psiClass, newClassName, suffix, subDirName);
+                        fileTargets.add(new Target(sourceDir, fileName, content));
+                    }
+                    return fileTargets;
+                }).inSmartMode(project).executeSynchronously();
+                perFile.set(index, targets);
+            } catch (ProcessCanceledException e) {
+                throw e;
+            } catch (Exception e) {
+                errors.add(file.getName() + ": " + e.getMessage());
+            }
+
+            indicator.setText(I18nUtils.message("message.batch.analyzing", file.getName()));
+            return true;
+        });
+
+        if (!completed || indicator.isCanceled()) {
+            result.canceled = true;
+            return Collections.emptyList();
+        }
+
+        List<Target> targets = new ArrayList<>();
+        for (List<Target> fileTargets : perFile) {
+            if (fileTargets != null) {
+                targets.addAll(fileTargets);
+            }
+        }
+        result.sourceClasses = targets.size();
+        for (String error : errors) {
+            result.addError(error);
+        }
+        return targets;
+    }
+
+    /**
+     * 实体类：有实例字段、本身不是数据对象，启用类型检测时只处理JavaBean类
+     */
+    private static boolean isEntity(PsiClass psiClass, boolean autoDetect) {
+        String name = psiClass.getName();
+        if (name == null || SUFFIXES.stream().anyMatch(name::endsWith)) {
+            return false;
+        }
+        if (autoDetect && ClassTypeDetector.detectClassType(psiClass) != ClassTypeDetector.ClassType.JAVA_BEAN) {
+            return false;
+        }
+        return !JavaBeanUtils.getInstanceFields(psiClass).isEmpty();
+    }
+
+    /**
+     * 写入阶段：创建子目录并创建或覆盖文件（在写命令中调用）
+     */
+    private void write(List<Target> targets, String subDirName, OverwritePolicy policy, Result result) {
+        Map<VirtualFile, VirtualFile> targetDirs = new HashMap<>();
+        for (Target target : targets) {
+            if (target.content == null) {
+                result.skippedExisting++;
+                continue;
+            }
+            try {
+                VirtualFile targetDir = targetDirs.get(target.sourceDir);
+                if (targetDir == null) {
+                    targetDir = target.sourceDir.findChild(subDirName);
+                    if (targetDir == null) {
+                        targetDir = target.sourceDir.createChildDirectory(this, subDirName);
+                    }
+                    targetDirs.put(target.sourceDir, targetDir);
+                }
+
+                byte[] bytes = target.content.getBytes(StandardCharsets.UTF_8);
+                VirtualFile existing = targetDir.findChild(target.fileName);
+                if (existing == null) {
+                    targetDir.createChildData(this, target.fileName).setBinaryContent(bytes);
+                    result.created++;
+                } else if (policy == OverwritePolicy.OVERWRITE) {
+                    existing.setBinaryContent(bytes);
+                    result.overwritten++;
+                } else {
+                    // 分析之后才出现的文件同样按策略跳过
+                    result.skippedExisting++;
+                }
+            } catch (IOException e) {
+                result.addError(target.fileName + ": " + e.getMessage());
+            }
+        }
+    }
+}
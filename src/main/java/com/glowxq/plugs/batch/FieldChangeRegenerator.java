@@ -0,0 +1,319 @@
+package com.glowxq.plugs.batch;
+
+import com.glowxq.plugs.actions.GenerateJavaBeanMethodsAction;
+import com.glowxq.plugs.metrics.OperationHistory;
+import com.glowxq.plugs.settings.OneClickSettings;
+import com.glowxq.plugs.utils.ClassTypeDetector;
+import com.glowxq.plugs.utils.I18nUtils;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.command.undo.UndoManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.ui.update.MergingUpdateQueue;
+import com.intellij.util.ui.update.Update;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 编辑字段后自动同步JavaBean方法
+ * 监听PSI变化，顶层类的实例字段被新增、删除或修改后记录所在文件；停止输入一段时间后在后台非阻塞读操作中
+ * 计算生成计划并与类的当前内容对比，只有访问器或toString确实需要修改的JavaBean类才在一个写命令中更新。
+ * 由设置中的"编辑字段后自动同步JavaBean方法"开启，默认关闭
+ *
+ * @author glowxq
+ */
+public final class FieldChangeRegenerator implements Disposable {
+
+    private static final Logger LOG = Logger.getInstance(FieldChangeRegenerator.class);
+
+    // 停止输入多久后同步
+    private static final int DEBOUNCE_MILLIS = 1500;
+
+    private final Project project;
+    private final MergingUpdateQueue queue;
+    private final GenerateJavaBeanMethodsAction generator = new GenerateJavaBeanMethodsAction();
+    // 待同步的文件 -> 最后一次变化的序号，处理完成时序号未变才移除
+    private final Map<VirtualFile, Long> pendingFiles = new HashMap<>();
+    private long changeCount;
+    // 正在写入同步结果，忽略自身产生的PSI变化（只在EDT上访问）
+    private boolean applying;
+
+    public FieldChangeRegenerator(@NotNull Project project) {
+        this.project = project;
+        this.queue = new MergingUpdateQueue("OneClickFieldSync", DEBOUNCE_MILLIS, true, null, this);
+        // 每次变化都重新计时，用户停止输入后才执行
+        this.queue.setRestartTimerOnAdd(true);
+    }
+
+    public static FieldChangeRegenerator getInstance(@NotNull Project project) {
+        return project.getService(FieldChangeRegenerator.class);
+    }
+
+    /**
+     * 开始监听PSI变化，项目启动时调用；设置关闭时监听器直接返回
+     */
+    public void install() {
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new FieldChangeListener(), this);
+    }
+
+    @Override
+    public void dispose() {
+        synchronized (pendingFiles) {
+            pendingFiles.clear();
+        }
+    }
+
+    /**
+     * 记录发生字段变化的文件，并重新开始计时
+     */
+    private void schedule(@NotNull VirtualFile file) {
+        synchronized (pendingFiles) {
+            pendingFiles.put(file, ++changeCount);
+        }
+        queue.queue(Update.create(this, this::flush));
+    }
+
+    /**
+     * 停止输入后执行：在后台计算待同步文件中需要修改的类，新的计算开始时取消尚未完成的计算
+     */
+    private void flush() {
+        Map<VirtualFile, Long> snapshot;
+        synchronized (pendingFiles) {
+            if (!OneClickSettings.getInstance().isAutoRegenerateOnFieldChange()) {
+                pendingFiles.clear();
+            }
+            if (pendingFiles.isEmpty()) {
+                return;
+            }
+            snapshot = new HashMap<>(pendingFiles);
+        }
+
+        ReadAction.nonBlocking(() -> computeChanges(snapshot.keySet()))
+                .inSmartMode(project)
+                .withDocumentsCommitted(project)
+                .expireWith(this)
+                .coalesceBy(this)
+                .finishOnUiThread(ModalityState.NON_MODAL, changes -> apply(snapshot, changes))
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * 计算需要同步的类（在读操作中调用），只读取PSI，不做修改
+     */
+    @NotNull
+    private List<PendingChange> computeChanges(@NotNull Set<VirtualFile> files) {
+        List<PendingChange> changes = new ArrayList<>();
+        PsiManager psiManager = PsiManager.getInstance(project);
+        try {
+            for (VirtualFile file : files) {
+                ProgressManager.checkCanceled();
+                PsiFile psiFile = file.isValid() ? psiManager.findFile(file) : null;
+                if (!(psiFile instanceof PsiJavaFile)) {
+                    continue;
+                }
+                for (PsiClass psiClass : GenerationPlanner.getGeneratableClasses(psiFile)) {
+                    // 输入到一半的类存在语法错误，等下一次变化再处理
+                    if (PsiTreeUtil.hasErrorElements(psiClass)) {
+                        continue;
+                    }
+                    // 关闭类型检测时计划类型为UNKNOWN，不自动同步
+                    GenerationPlan plan = GenerationPlanner.planClass(psiClass);
+                    if (plan.getClassType() != ClassTypeDetector.ClassType.JAVA_BEAN || !hasAccessorDrift(psiClass, plan)) {
+                        plan.dispose();
+                        continue;
+                    }
+                    changes.add(new PendingChange(file, plan, ClassFingerprint.compute(psiClass)));
+                }
+            }
+        } catch (RuntimeException e) {
+            // 读操作被取消时释放已计算的计划，重新开始后会再次计算
+            for (PendingChange change : changes) {
+                change.plan.dispose();
+            }
+            throw e;
+        }
+        return changes;
+    }
+
+    /**
+     * 只有需要新增或更新访问器时才自动同步；只删除方法的情况不在未经确认的后台命令中执行，
+     * 留给用户手动执行一键生成
+     */
+    private static boolean hasAccessorDrift(PsiClass psiClass, GenerationPlan plan) {
+        ClassDrift drift = GenerationPlanner.detectDrift(psiClass, plan);
+        return drift.getAccessorsToAdd() + drift.getAccessorsToUpdate() > 0;
+    }
+
+    /**
+     * 在一个写命令中应用所有需要同步的类（在EDT上调用）
+     * 计算后类又被修改过的不应用，重新加入队列
+     */
+    private void apply(@NotNull Map<VirtualFile, Long> snapshot, @NotNull List<PendingChange> changes) {
+        synchronized (pendingFiles) {
+            snapshot.forEach(pendingFiles::remove);
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (project.isDisposed() || PsiDocumentManager.getInstance(project).hasUncommitedDocuments()) {
+                for (PendingChange change : changes) {
+                    schedule(change.file);
+                }
+                return;
+            }
+
+            applying = true;
+            GenerationFingerprintStore fingerprintStore = GenerationFingerprintStore.getInstance(project);
+            WriteCommandAction.writeCommandAction(project)
+                    .withName(I18nUtils.message("auto.regenerate.command"))
+                    .run(() -> {
+                        for (PendingChange change : changes) {
+                            applyChange(change, fingerprintStore);
+                        }
+                    });
+        } catch (Exception e) {
+            LOG.warn("Failed to sync JavaBean methods after field change", e);
+        } finally {
+            applying = false;
+            for (PendingChange change : changes) {
+                change.plan.dispose();
+            }
+        }
+    }
+
+    private void applyChange(PendingChange change, GenerationFingerprintStore fingerprintStore) {
+        PsiClass psiClass = change.plan.getPsiClass();
+        if (psiClass == null || !change.fingerprint.equals(ClassFingerprint.compute(psiClass))) {
+            schedule(change.file);
+            return;
+        }
+
+        OperationHistory.Recording recording = OperationHistory.getInstance()
+                .begin("FieldSync", change.file.getName())
+                .setClassType(change.plan.getClassType())
+                .setFieldCount(change.plan.getFieldCount());
+        generator.performSmartGeneration(project, psiClass, change.plan);
+        PsiClass generated = change.plan.getPsiClass();
+        if (generated != null) {
+            fingerprintStore.record(generated);
+        }
+        recording.finish();
+    }
+
+    /**
+     * 变化是否涉及顶层类的字段：新增、删除或替换字段，或者字段内部（初始化表达式除外）的修改
+     *
+     * @return 字段所在的文件，不涉及字段时返回null
+     */
+    @Nullable
+    private VirtualFile fieldChangeFile(@Nullable PsiElement parent, @Nullable PsiElement child) {
+        if (parent == null || applying || !OneClickSettings.getInstance().isAutoRegenerateOnFieldChange()) {
+            return null;
+        }
+        PsiFile psiFile = parent.getContainingFile();
+        if (!(psiFile instanceof PsiJavaFile) || !psiFile.isPhysical()
+                || UndoManager.getInstance(project).isUndoOrRedoInProgress()) {
+            return null;
+        }
+
+        PsiClass psiClass;
+        if (child instanceof PsiField && parent instanceof PsiClass) {
+            psiClass = (PsiClass) parent;
+        } else {
+            PsiField field = PsiTreeUtil.getParentOfType(parent, PsiField.class, false);
+            if (field == null || PsiTreeUtil.isAncestor(field.getInitializer(), parent, false)) {
+                return null;
+            }
+            psiClass = field.getContainingClass();
+        }
+        if (psiClass == null || !(psiClass.getParent() instanceof PsiJavaFile)) {
+            return null;
+        }
+        return psiFile.getVirtualFile();
+    }
+
+    /**
+     * PSI变化监听，在写操作中调用，只做最少的判断
+     */
+    private final class FieldChangeListener extends PsiTreeChangeAdapter {
+
+        @Override
+        public void childAdded(@NotNull PsiTreeChangeEvent event) {
+            onChange(event.getParent(), event.getChild());
+        }
+
+        @Override
+        public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+            onChange(event.getParent(), event.getChild());
+        }
+
+        @Override
+        public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+            if (event.getOldChild() instanceof PsiField) {
+                onChange(event.getParent(), event.getOldChild());
+            } else {
+                onChange(event.getParent(), event.getNewChild());
+            }
+        }
+
+        @Override
+        public void childMoved(@NotNull PsiTreeChangeEvent event) {
+            onChange(event.getNewParent(), event.getChild());
+        }
+
+        @Override
+        public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+            // 整个文件或类的通用变化不处理，只处理字段内部的变化
+            if (!(event.getParent() instanceof PsiFile) && !(event.getParent() instanceof PsiClass)) {
+                onChange(event.getParent(), null);
+            }
+        }
+
+        private void onChange(@Nullable PsiElement parent, @Nullable PsiElement child) {
+            VirtualFile file = fieldChangeFile(parent, child);
+            if (file != null) {
+                schedule(file);
+            }
+        }
+    }
+
+    /**
+     * 一个需要同步的类
+     */
+    private static final class PendingChange {
+        private final VirtualFile file;
+        private final GenerationPlan plan;
+        // 计算计划时类的指纹，应用前类被修改过时不应用
+        private final String fingerprint;
+
+        private PendingChange(VirtualFile file, GenerationPlan plan, String fingerprint) {
+            this.file = file;
+            this.plan = plan;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
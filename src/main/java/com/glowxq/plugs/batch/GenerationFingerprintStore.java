@@ -0,0 +1,72 @@
+package com.glowxq.plugs.batch;
+
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.components.StoragePathMacros;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 项目级的类指纹存储
+ * 记录每个类上次生成后的指纹，批量生成时跳过指纹未变化的类
+ *
+ * @author glowxq
+ */
+@State(
+    name = "OneClickGenerationFingerprints",
+    storages = @Storage(StoragePathMacros.CACHE_FILE)
+)
+public final class GenerationFingerprintStore implements PersistentStateComponent<GenerationFingerprintStore.State> {
+
+    private State myState = new State();
+
+    public static GenerationFingerprintStore getInstance(@NotNull Project project) {
+        return project.getService(GenerationFingerprintStore.class);
+    }
+
+    @Override
+    public @Nullable State getState() {
+        return myState;
+    }
+
+    @Override
+    public void loadState(@NotNull State state) {
+        myState = state;
+    }
+
+    /**
+     * 状态类
+     */
+    public static class State {
+        // 类键 -> 指纹
+        public Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 类的当前指纹是否与上次生成后记录的一致（需要在读操作中调用）
+     */
+    public boolean isUpToDate(@NotNull PsiClass psiClass) {
+        String recorded = myState.fingerprints.get(ClassFingerprint.keyOf(psiClass));
+        return recorded != null && recorded.equals(ClassFingerprint.compute(psiClass));
+    }
+
+    /**
+     * 记录类生成后的指纹
+     */
+    public void record(@NotNull PsiClass psiClass) {
+        myState.fingerprints.put(ClassFingerprint.keyOf(psiClass), ClassFingerprint.compute(psiClass));
+    }
+
+    /**
+     * 清除所有记录，下次批量生成时重新处理所有类
+     */
+    public void clear() {
+        myState.fingerprints.clear();
+    }
+}
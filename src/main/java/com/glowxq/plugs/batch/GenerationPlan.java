@@ -0,0 +1,120 @@
+package com.glowxq.plugs.batch;
+
+import com.glowxq.plugs.utils.ClassTypeDetector;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 单个类的生成计划
+ * 在读操作阶段计算，写操作阶段只负责按计划修改PSI
+ *
+ * @author glowxq
+ */
+public final class GenerationPlan {
+
+    private final SmartPsiElementPointer<PsiClass> classPointer;
+    private final String fileName;
+    private final String className;
+    private final ClassTypeDetector.ClassType classType;
+    private final int fieldCount;
+    private final List<String> accessorTexts;
+    private final String toStringText;
+
+    public GenerationPlan(@NotNull SmartPsiElementPointer<PsiClass> classPointer,
+                          @NotNull String fileName,
+                          @Nullable String className,
+                          @NotNull ClassTypeDetector.ClassType classType,
+                          int fieldCount,
+                          @NotNull List<String> accessorTexts,
+                          @Nullable String toStringText) {
+        this.classPointer = classPointer;
+        this.fileName = fileName;
+        this.className = className;
+        this.classType = classType;
+        this.fieldCount = fieldCount;
+        this.accessorTexts = Collections.unmodifiableList(accessorTexts);
+        this.toStringText = toStringText;
+    }
+
+    /**
+     * 获取计划对应的类（写阶段调用，类可能已失效）
+     */
+    @Nullable
+    public PsiClass getPsiClass() {
+        return classPointer.getElement();
+    }
+
+    /**
+     * 释放类的智能指针，计划应用或检查完成后调用
+     */
+    public void dispose() {
+        SmartPointerManager.getInstance(classPointer.getProject()).removePointer(classPointer);
+    }
+
+    @NotNull
+    public String getFileName() {
+        return fileName;
+    }
+
+    @Nullable
+    public String getClassName() {
+        return className;
+    }
+
+    @NotNull
+    public ClassTypeDetector.ClassType getClassType() {
+        return classType;
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * 按字段顺序排列的getter/setter方法文本（getter在前，setter在后）
+     */
+    @NotNull
+    public List<String> getAccessorTexts() {
+        return accessorTexts;
+    }
+
+    /**
+     * toString方法文本，未启用toString生成时为null
+     */
+    @Nullable
+    public String getToStringText() {
+        return toStringText;
+    }
+
+    /**
+     * 期望的全部JavaBean方法文本：按字段顺序的getter/setter，最后是toString
+     */
+    @NotNull
+    public List<String> getJavaBeanMethodTexts() {
+        if (toStringText == null) {
+            return accessorTexts;
+        }
+        List<String> texts = new ArrayList<>(accessorTexts.size() + 1);
+        texts.addAll(accessorTexts);
+        texts.add(toStringText);
+        return texts;
+    }
+
+    @Override
+    public String toString() {
+        return "GenerationPlan{" +
+                "fileName='" + fileName + '\'' +
+                ", className='" + className + '\'' +
+                ", classType=" + classType +
+                ", fieldCount=" + fieldCount +
+                ", accessorCount=" + accessorTexts.size() +
+                '}';
+    }
+}
@@ -0,0 +1,156 @@
+package com.glowxq.plugs.batch;
+
+import com.glowxq.plugs.settings.OneClickSettings;
+import com.glowxq.plugs.utils.ClassTypeDetector;
+import com.glowxq.plugs.utils.JavaBeanMethodReconciler;
+import com.glowxq.plugs.utils.JavaBeanUtils;
+import com.glowxq.plugs.utils.OneClickMetrics;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.SmartPointerManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 生成计划计算器
+ * 只读取PSI，不做任何修改，可以在后台线程的读操作中并行执行
+ *
+ * @author glowxq
+ */
+public final class GenerationPlanner {
+
+    private GenerationPlanner() {
+    }
+
+    /**
+     * 为文件中的所有顶层类计算生成计划（需要在读操作中调用）
+     */
+    @NotNull
+    public static List<GenerationPlan> planFile(@NotNull PsiFile psiFile) {
+        List<GenerationPlan> plans = new ArrayList<>();
+        for (PsiClass psiClass : getGeneratableClasses(psiFile)) {
+            plans.add(planClass(psiClass));
+        }
+        return plans;
+    }
+
+    /**
+     * 获取文件中需要生成代码的顶层类（需要在读操作中调用）
+     */
+    @NotNull
+    public static List<PsiClass> getGeneratableClasses(@NotNull PsiFile psiFile) {
+        ApplicationManager.getApplication().assertReadAccessAllowed();
+
+        if (!(psiFile instanceof PsiJavaFile)) {
+            return Collections.emptyList();
+        }
+
+        List<PsiClass> classes = new ArrayList<>();
+        for (PsiClass psiClass : ((PsiJavaFile) psiFile).getClasses()) {
+            if (JavaBeanUtils.isGeneratable(psiClass)) {
+                classes.add(psiClass);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * 为单个类计算生成计划（需要在读操作中调用）
+     */
+    @NotNull
+    public static GenerationPlan planClass(@NotNull PsiClass psiClass) {
+        ApplicationManager.getApplication().assertReadAccessAllowed();
+
+        long start = OneClickMetrics.start();
+        try {
+            return computePlan(psiClass);
+        } finally {
+            OneClickMetrics.stop(OneClickMetrics.Phase.PLAN, start);
+        }
+    }
+
+    @NotNull
+    private static GenerationPlan computePlan(@NotNull PsiClass psiClass) {
+        OneClickSettings settings = OneClickSettings.getInstance();
+        Project project = psiClass.getProject();
+
+        // 检测类类型
+        ClassTypeDetector.ClassType classType = ClassTypeDetector.ClassType.UNKNOWN;
+        if (settings.isAutoDetectClassType()) {
+            classType = ClassTypeDetector.detectClassType(psiClass);
+        }
+
+        List<PsiField> fields = JavaBeanUtils.getInstanceFields(psiClass);
+        List<String> accessorTexts = Collections.emptyList();
+        String toStringText = null;
+
+        // 只有需要生成JavaBean方法时才预先构建方法文本
+        boolean generatesJavaBean = classType == ClassTypeDetector.ClassType.JAVA_BEAN || !settings.isAutoDetectClassType();
+        if (generatesJavaBean && !fields.isEmpty()) {
+            if (settings.isGenerateGetterSetter()) {
+                accessorTexts = JavaBeanUtils.generateAccessorCodes(fields, psiClass, settings.isGenerateFluentSetters());
+            }
+            if (settings.isGenerateToString()) {
+                toStringText = JavaBeanUtils.generateToStringCode(psiClass, fields, settings.getToStringStyle());
+            }
+        }
+
+        PsiFile containingFile = psiClass.getContainingFile();
+        String fileName = containingFile != null ? containingFile.getName() : String.valueOf(psiClass.getName());
+
+        return new GenerationPlan(
+                SmartPointerManager.getInstance(project).createSmartPsiElementPointer(psiClass),
+                fileName,
+                psiClass.getName(),
+                classType,
+                fields.size(),
+                accessorTexts,
+                toStringText);
+    }
+
+    /**
+     * 只读检查：对比类的当前内容与生成计划，计算重新生成会产生的差异（需要在读操作中调用）
+     */
+    @NotNull
+    public static ClassDrift detectDrift(@NotNull PsiClass psiClass, @NotNull GenerationPlan plan) {
+        ApplicationManager.getApplication().assertReadAccessAllowed();
+
+        OneClickSettings settings = OneClickSettings.getInstance();
+        boolean autoDetect = settings.isAutoDetectClassType();
+        ClassTypeDetector.ClassType classType = plan.getClassType();
+
+        // JavaBean方法差异
+        JavaBeanMethodReconciler.Result accessorDiff = null;
+        if (classType == ClassTypeDetector.ClassType.JAVA_BEAN || !autoDetect) {
+            List<PsiField> fields = JavaBeanUtils.getInstanceFields(psiClass);
+            if (!fields.isEmpty()) {
+                accessorDiff = JavaBeanMethodReconciler.diff(psiClass, plan.getJavaBeanMethodTexts(),
+                        JavaBeanUtils.getAllJavaBeanMethods(psiClass, fields));
+            }
+        }
+
+        // 业务类的日志字段
+        boolean missingLogger = (classType == ClassTypeDetector.ClassType.BUSINESS_CLASS || !autoDetect)
+                && settings.isGenerateLogger()
+                && !ClassTypeDetector.hasLoggerField(psiClass);
+
+        PsiFile containingFile = psiClass.getContainingFile();
+        VirtualFile virtualFile = containingFile != null ? containingFile.getVirtualFile() : null;
+        return new ClassDrift(
+                virtualFile != null ? virtualFile.getPath() : plan.getFileName(),
+                psiClass.getQualifiedName() != null ? psiClass.getQualifiedName() : String.valueOf(psiClass.getName()),
+                accessorDiff != null ? accessorDiff.getAdded() : 0,
+                accessorDiff != null ? accessorDiff.getUpdated() : 0,
+                accessorDiff != null ? accessorDiff.getRemoved() : 0,
+                JavaBeanUtils.needsFieldRearrangement(psiClass),
+                missingLogger);
+    }
+}
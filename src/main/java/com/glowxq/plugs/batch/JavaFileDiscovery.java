@@ -0,0 +1,45 @@
+package com.glowxq.plugs.batch;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Java文件的发现方式
+ * 发现的文件逐个交给sink，批量生成引擎可以在枚举过程中就开始处理已经发现的文件
+ *
+ * @author glowxq
+ */
+@FunctionalInterface
+public interface JavaFileDiscovery {
+
+    /**
+     * 枚举文件并逐个交给sink（在后台线程调用，需要定期检查indicator是否已取消）
+     */
+    void discover(@NotNull Consumer<VirtualFile> sink, @NotNull ProgressIndicator indicator);
+
+    /**
+     * 通过项目索引查找选中的文件和目录中的Java源文件
+     * 在短暂的读操作中一次取得文件列表，再逐个交给sink，避免在等待写入时持有读锁
+     */
+    @NotNull
+    static JavaFileDiscovery sources(@NotNull Project project, @NotNull Collection<VirtualFile> roots,
+                                     @NotNull JavaSourceFinder.Filter filter) {
+        return (sink, indicator) -> {
+            List<VirtualFile> javaFiles = ReadAction
+                    .nonBlocking(() -> JavaSourceFinder.findJavaFiles(project, roots, filter))
+                    .wrapProgress(indicator)
+                    .executeSynchronously();
+            for (VirtualFile file : javaFiles) {
+                indicator.checkCanceled();
+                sink.accept(file);
+            }
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.glowxq.plugs.batch;
+
+import com.glowxq.plugs.settings.OneClickSettings;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.GeneratedSourcesFilter;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.FileTypeIndex;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 基于项目索引查找Java源文件
+ * 目录通过FileTypeIndex直接取得其中的Java文件，不逐个遍历VirtualFile子节点；
+ * 只返回源码目录中的文件，排除目录、构建输出天然不在结果中，测试和生成的源码按设置过滤
+ *
+ * @author glowxq
+ */
+public final class JavaSourceFinder {
+
+    /**
+     * 源码范围过滤条件
+     */
+    public static final class Filter {
+        private final boolean skipTestSources;
+        private final boolean skipGeneratedSources;
+
+        public Filter(boolean skipTestSources, boolean skipGeneratedSources) {
+            this.skipTestSources = skipTestSources;
+            this.skipGeneratedSources = skipGeneratedSources;
+        }
+
+        /**
+         * 使用设置中的过滤条件
+         */
+        @NotNull
+        public static Filter fromSettings() {
+            OneClickSettings settings = OneClickSettings.getInstance();
+            return new Filter(settings.isBatchSkipTestSources(), settings.isBatchSkipGeneratedSources());
+        }
+    }
+
+    private JavaSourceFinder() {
+    }
+
+    /**
+     * 查找选中的文件和目录中的Java源文件，按路径排序（需要在读操作中调用）
+     * 索引未就绪时退回到按项目内容遍历目录，仍然会跳过排除目录
+     */
+    @NotNull
+    public static List<VirtualFile> findJavaFiles(@NotNull Project project, @NotNull Collection<VirtualFile> roots,
+                                                  @NotNull Filter filter) {
+        ApplicationManager.getApplication().assertReadAccessAllowed();
+
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        Set<VirtualFile> javaFiles = new LinkedHashSet<>();
+        List<VirtualFile> directories = new ArrayList<>();
+        for (VirtualFile root : roots) {
+            if (root.isDirectory()) {
+                directories.add(root);
+            } else if (isAccepted(project, fileIndex, root, filter)) {
+                javaFiles.add(root);
+            }
+        }
+
+        if (!directories.isEmpty()) {
+            if (DumbService.isDumb(project)) {
+                for (VirtualFile directory : directories) {
+                    fileIndex.iterateContentUnderDirectory(directory, file -> {
+                        if (isAccepted(project, fileIndex, file, filter)) {
+                            javaFiles.add(file);
+                        }
+                        return true;
+                    });
+                }
+            } else {
+                Collection<VirtualFile> indexed = FileTypeIndex.getFiles(JavaFileType.INSTANCE,
+                        GlobalSearchScopesCore.directoriesScope(project, true, directories.toArray(VirtualFile.EMPTY_ARRAY)));
+                for (VirtualFile file : indexed) {
+                    if (isAccepted(project, fileIndex, file, filter)) {
+                        javaFiles.add(file);
+                    }
+                }
+            }
+        }
+
+        List<VirtualFile> sorted = new ArrayList<>(javaFiles);
+        sorted.sort(Comparator.comparing(VirtualFile::getPath));
+        return sorted;
+    }
+
+    /**
+     * 是否为需要处理的Java源文件
+     */
+    private static boolean isAccepted(Project project, ProjectFileIndex fileIndex, VirtualFile file, Filter filter) {
+        if (file.isDirectory() || file.getFileType() != JavaFileType.INSTANCE) {
+            return false;
+        }
+        if (!fileIndex.isInSourceContent(file)) {
+            return false;
+        }
+        if (filter.skipTestSources && fileIndex.isInTestSourceContent(file)) {
+            return false;
+        }
+        return !filter.skipGeneratedSources || !GeneratedSourcesFilter.isGeneratedSourceByAnyFilter(file, project);
+    }
+}
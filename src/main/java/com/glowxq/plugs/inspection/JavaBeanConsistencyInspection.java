@@ -0,0 +1,191 @@
+package com.glowxq.plugs.inspection;
+
+import com.glowxq.plugs.settings.OneClickSettings;
+import com.glowxq.plugs.utils.ClassTypeDetector;
+import com.glowxq.plugs.utils.I18nUtils;
+import com.glowxq.plugs.utils.JavaBeanUtils;
+import com.intellij.codeInspection.AbstractBaseJavaLocalInspectionTool;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.psi.JavaElementVisitor;
+import com.intellij.psi.JavaRecursiveElementWalkingVisitor;
+import com.intellij.psi.PsiAnonymousClass;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiExpression;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiIdentifier;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiReferenceExpression;
+import com.intellij.psi.PsiThisExpression;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JavaBean一致性检查
+ * 在编辑时标出与一键生成结果不一致的地方：缺少getter/setter、toString未包含全部字段、业务类字段顺序不符合排序设置。
+ * 只按方法名和参数个数查找访问器，toString只收集引用名不做解析，不生成方法文本，可以在每次输入后运行；
+ * 类类型检测使用ClassTypeDetector的缓存结果
+ *
+ * @author glowxq
+ */
+public class JavaBeanConsistencyInspection extends AbstractBaseJavaLocalInspectionTool {
+
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        return new JavaElementVisitor() {
+            @Override
+            public void visitClass(@NotNull PsiClass aClass) {
+                if (isCheckable(aClass)) {
+                    checkClass(aClass, holder);
+                }
+            }
+        };
+    }
+
+    /**
+     * 只检查一键生成会处理的类：顶层类，以及启用内部类处理时不超过最大深度的内部类
+     */
+    private static boolean isCheckable(PsiClass psiClass) {
+        if (psiClass instanceof PsiAnonymousClass || psiClass.getNameIdentifier() == null
+                || !JavaBeanUtils.isGeneratable(psiClass)) {
+            return false;
+        }
+        if (psiClass.getContainingClass() == null) {
+            return psiClass.getParent() instanceof PsiJavaFile;
+        }
+
+        OneClickSettings settings = OneClickSettings.getInstance();
+        if (!settings.isProcessInnerClasses()) {
+            return false;
+        }
+        // 与JavaBeanUtils.processInnerClasses相同：直接内部类深度为1，接口和枚举中的类不处理
+        int depth = 0;
+        PsiClass current = psiClass;
+        while (current.getParent() instanceof PsiClass) {
+            current = (PsiClass) current.getParent();
+            if (!JavaBeanUtils.isGeneratable(current)) {
+                return false;
+            }
+            depth++;
+        }
+        return depth > 0 && depth <= settings.getMaxInnerClassDepth() && current.getParent() instanceof PsiJavaFile;
+    }
+
+    private static void checkClass(PsiClass psiClass, ProblemsHolder holder) {
+        OneClickSettings settings = OneClickSettings.getInstance();
+        RegenerateJavaBeanFix fix = new RegenerateJavaBeanFix();
+        boolean innerClass = psiClass.getContainingClass() != null;
+
+        // 内部类总是按JavaBean处理，顶层类按检测到的类型
+        boolean javaBean = innerClass || !settings.isAutoDetectClassType()
+                || ClassTypeDetector.detectClassType(psiClass) == ClassTypeDetector.ClassType.JAVA_BEAN;
+        if (javaBean) {
+            List<PsiField> fields = JavaBeanUtils.getInstanceFields(psiClass);
+            if (!fields.isEmpty()) {
+                if (settings.isGenerateGetterSetter()) {
+                    checkAccessors(psiClass, fields, settings.isGenerateFluentSetters(), holder, fix);
+                }
+                if (settings.isGenerateToString()) {
+                    checkToString(psiClass, fields, holder, fix);
+                }
+            }
+        }
+
+        // 字段排序只对顶层的业务类生效，内部会判断类型
+        if (!innerClass && JavaBeanUtils.needsFieldRearrangement(psiClass)) {
+            holder.registerProblem(psiClass.getNameIdentifier(),
+                    I18nUtils.message("inspection.javabean.field.order"), fix);
+        }
+    }
+
+    /**
+     * 缺少getter或setter的字段，标在字段名上
+     */
+    private static void checkAccessors(PsiClass psiClass, List<PsiField> fields, boolean fluentSetters,
+                                       ProblemsHolder holder, RegenerateJavaBeanFix fix) {
+        for (PsiField field : fields) {
+            PsiIdentifier name = field.getNameIdentifier();
+            List<String> missing = new ArrayList<>(2);
+            String getterName = JavaBeanUtils.getGetterName(field);
+            if (!hasMethod(psiClass, getterName, 0)) {
+                missing.add(getterName + "()");
+            }
+            String setterName = JavaBeanUtils.getSetterName(field, fluentSetters);
+            if (!hasMethod(psiClass, setterName, 1)) {
+                missing.add(setterName + "()");
+            }
+            if (!missing.isEmpty()) {
+                holder.registerProblem(name, I18nUtils.message("inspection.javabean.missing.accessor",
+                        field.getName(), String.join(", ", missing)), fix);
+            }
+        }
+    }
+
+    /**
+     * toString缺失，或者没有引用全部实例字段
+     */
+    private static void checkToString(PsiClass psiClass, List<PsiField> fields,
+                                      ProblemsHolder holder, RegenerateJavaBeanFix fix) {
+        PsiMethod toString = findMethod(psiClass, "toString", 0);
+        if (toString == null) {
+            holder.registerProblem(psiClass.getNameIdentifier(),
+                    I18nUtils.message("inspection.javabean.missing.tostring"), fix);
+            return;
+        }
+
+        PsiCodeBlock body = toString.getBody();
+        if (body == null) {
+            return;
+        }
+        Set<String> referenced = collectFieldReferenceNames(body);
+        List<String> missing = new ArrayList<>();
+        for (PsiField field : fields) {
+            if (!referenced.contains(field.getName())) {
+                missing.add(field.getName());
+            }
+        }
+        if (!missing.isEmpty()) {
+            holder.registerProblem(toString.getNameIdentifier() != null ? toString.getNameIdentifier() : toString,
+                    I18nUtils.message("inspection.javabean.stale.tostring", String.join(", ", missing)), fix);
+        }
+    }
+
+    /**
+     * 收集方法体中未限定或以this限定的引用名，不解析引用
+     */
+    private static Set<String> collectFieldReferenceNames(PsiCodeBlock body) {
+        Set<String> names = new HashSet<>();
+        body.accept(new JavaRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitReferenceExpression(@NotNull PsiReferenceExpression expression) {
+                super.visitReferenceExpression(expression);
+                PsiExpression qualifier = expression.getQualifierExpression();
+                if (qualifier == null || qualifier instanceof PsiThisExpression) {
+                    names.add(expression.getReferenceName());
+                }
+            }
+        });
+        return names;
+    }
+
+    private static boolean hasMethod(PsiClass psiClass, String name, int parameterCount) {
+        return findMethod(psiClass, name, parameterCount) != null;
+    }
+
+    @Nullable
+    private static PsiMethod findMethod(PsiClass psiClass, String name, int parameterCount) {
+        for (PsiMethod method : psiClass.findMethodsByName(name, false)) {
+            if (method.getParameterList().getParametersCount() == parameterCount) {
+                return method;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,128 @@
+package com.glowxq.plugs.inspection;
+
+import com.glowxq.plugs.actions.GenerateJavaBeanMethodsAction;
+import com.glowxq.plugs.batch.GenerationFingerprintStore;
+import com.glowxq.plugs.batch.GenerationPlan;
+import com.glowxq.plugs.batch.GenerationPlanner;
+import com.glowxq.plugs.settings.OneClickSettings;
+import com.glowxq.plugs.utils.I18nUtils;
+import com.glowxq.plugs.utils.JavaBeanUtils;
+import com.intellij.codeInsight.intention.preview.IntentionPreviewInfo;
+import com.intellij.codeInspection.BatchQuickFix;
+import com.intellij.codeInspection.CommonProblemDescriptor;
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 使用一键生成重新生成问题所在的顶层类
+ * 同一个类上的多个问题只生成一次；在检查结果中批量修复时，所有类在一个命令中生成，可以一次撤销
+ *
+ * @author glowxq
+ */
+public class RegenerateJavaBeanFix implements LocalQuickFix, BatchQuickFix {
+
+    @Override
+    public @NotNull String getFamilyName() {
+        return I18nUtils.message("inspection.javabean.fix");
+    }
+
+    @Override
+    public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+        PsiClass psiClass = topLevelClassOf(descriptor.getPsiElement());
+        if (psiClass != null) {
+            regenerate(project, psiClass);
+        }
+    }
+
+    @Override
+    public void applyFix(@NotNull Project project, CommonProblemDescriptor @NotNull [] descriptors,
+                         @NotNull List<PsiElement> psiElementsToIgnore, @Nullable Runnable refreshViews) {
+        Set<PsiClass> classes = new LinkedHashSet<>();
+        List<PsiFile> files = new ArrayList<>();
+        for (CommonProblemDescriptor descriptor : descriptors) {
+            if (!(descriptor instanceof ProblemDescriptor)) {
+                continue;
+            }
+            PsiElement element = ((ProblemDescriptor) descriptor).getPsiElement();
+            PsiClass psiClass = topLevelClassOf(element);
+            if (psiClass != null && classes.add(psiClass)) {
+                files.add(psiClass.getContainingFile());
+            }
+            if (element != null) {
+                psiElementsToIgnore.add(element);
+            }
+        }
+        if (classes.isEmpty()) {
+            return;
+        }
+
+        WriteCommandAction.writeCommandAction(project, files.toArray(PsiFile.EMPTY_ARRAY))
+                .withName(getFamilyName())
+                .withGlobalUndo()
+                .run(() -> {
+                    for (PsiClass psiClass : classes) {
+                        if (psiClass.isValid()) {
+                            regenerate(project, psiClass);
+                        }
+                    }
+                });
+        if (refreshViews != null) {
+            refreshViews.run();
+        }
+    }
+
+    @Override
+    public @NotNull IntentionPreviewInfo generatePreview(@NotNull Project project,
+                                                         @NotNull ProblemDescriptor previewDescriptor) {
+        // 生成过程会更新指纹记录和统计，不在预览副本上执行
+        return IntentionPreviewInfo.EMPTY;
+    }
+
+    /**
+     * 与批量生成的写阶段相同：按计划生成、处理内部类并记录指纹（在写操作中调用）
+     */
+    private static void regenerate(Project project, PsiClass psiClass) {
+        OneClickSettings settings = OneClickSettings.getInstance();
+        GenerationPlan plan = GenerationPlanner.planClass(psiClass);
+        try {
+            new GenerateJavaBeanMethodsAction().performSmartGeneration(project, psiClass, plan);
+            // 字段块整体替换后需要重新解析类
+            PsiClass generated = plan.getPsiClass();
+            if (generated == null) {
+                return;
+            }
+            if (settings.isProcessInnerClasses()) {
+                JavaBeanUtils.processInnerClasses(generated, settings);
+            }
+            GenerationFingerprintStore.getInstance(project).record(generated);
+        } finally {
+            plan.dispose();
+        }
+    }
+
+    /**
+     * 问题所在的顶层类，一键生成以顶层类为单位
+     */
+    @Nullable
+    private static PsiClass topLevelClassOf(@Nullable PsiElement element) {
+        PsiClass psiClass = PsiTreeUtil.getParentOfType(element, PsiClass.class, false);
+        while (psiClass != null && !(psiClass.getParent() instanceof PsiJavaFile)) {
+            psiClass = PsiTreeUtil.getParentOfType(psiClass, PsiClass.class, true);
+        }
+        return psiClass;
+    }
+}
@@ -0,0 +1,203 @@
+package com.glowxq.plugs.metrics;
+
+import com.glowxq.plugs.utils.OneClickMetrics;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.util.messages.Topic;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OneClick操作的历史记录
+ * 使用固定容量的环形缓冲区保存最近的操作，超出容量时覆盖最早的记录
+ *
+ * @author glowxq
+ */
+public final class OperationHistory {
+
+    /**
+     * 最多保留的记录数
+     */
+    public static final int CAPACITY = 500;
+
+    /**
+     * 历史记录变化的通知
+     */
+    public interface Listener {
+        Topic<Listener> TOPIC = Topic.create("OneClick operation history", Listener.class);
+
+        void historyChanged();
+    }
+
+    private final OperationRecord[] buffer = new OperationRecord[CAPACITY];
+    // 下一条记录的写入位置
+    private int next;
+    private int size;
+
+    public static OperationHistory getInstance() {
+        return ApplicationManager.getApplication().getService(OperationHistory.class);
+    }
+
+    /**
+     * 开始记录一次操作，操作结束后调用 {@link Recording#finish()}
+     */
+    @NotNull
+    public Recording begin(@NotNull String actionId, @Nullable String fileName) {
+        return new Recording(this, actionId, fileName);
+    }
+
+    void add(@NotNull OperationRecord record) {
+        synchronized (buffer) {
+            buffer[next] = record;
+            next = (next + 1) % CAPACITY;
+            if (size < CAPACITY) {
+                size++;
+            }
+        }
+        ApplicationManager.getApplication().getMessageBus().syncPublisher(Listener.TOPIC).historyChanged();
+    }
+
+    /**
+     * 按时间顺序返回所有记录
+     */
+    @NotNull
+    public List<OperationRecord> getRecords() {
+        synchronized (buffer) {
+            List<OperationRecord> records = new ArrayList<>(size);
+            int first = (next - size + CAPACITY) % CAPACITY;
+            for (int i = 0; i < size; i++) {
+                records.add(buffer[(first + i) % CAPACITY]);
+            }
+            return records;
+        }
+    }
+
+    public void clear() {
+        synchronized (buffer) {
+            Arrays.fill(buffer, null);
+            next = 0;
+            size = 0;
+        }
+        ApplicationManager.getApplication().getMessageBus().syncPublisher(Listener.TOPIC).historyChanged();
+    }
+
+    /**
+     * 按操作统计耗时分位数，按首次出现的顺序排列
+     */
+    @NotNull
+    public static List<ActionStats> computeStats(@NotNull List<OperationRecord> records) {
+        Map<String, List<Long>> durations = new LinkedHashMap<>();
+        for (OperationRecord record : records) {
+            durations.computeIfAbsent(record.getActionId(), k -> new ArrayList<>()).add(record.getDurationNanos());
+        }
+
+        List<ActionStats> stats = new ArrayList<>(durations.size());
+        for (Map.Entry<String, List<Long>> entry : durations.entrySet()) {
+            long[] sorted = entry.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+            stats.add(new ActionStats(entry.getKey(), sorted));
+        }
+        return stats;
+    }
+
+    /**
+     * 单个操作的耗时统计
+     */
+    public static final class ActionStats {
+        private final String actionId;
+        private final long[] sortedNanos;
+
+        ActionStats(String actionId, long[] sortedNanos) {
+            this.actionId = actionId;
+            this.sortedNanos = sortedNanos;
+        }
+
+        @NotNull
+        public String getActionId() {
+            return actionId;
+        }
+
+        public int getCount() {
+            return sortedNanos.length;
+        }
+
+        /**
+         * 最近秩法计算分位数
+         *
+         * @param percentile 0到100之间的分位
+         */
+        public long percentileNanos(double percentile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sortedNanos.length);
+            return sortedNanos[Math.max(0, Math.min(sortedNanos.length, rank) - 1)];
+        }
+
+        public long maxNanos() {
+            return sortedNanos.length == 0 ? 0 : sortedNanos[sortedNanos.length - 1];
+        }
+    }
+
+    /**
+     * 正在进行的操作
+     */
+    public static final class Recording {
+        private final OperationHistory history;
+        private final String actionId;
+        private final String fileName;
+        private final long timestamp = System.currentTimeMillis();
+        private final long startNanos = System.nanoTime();
+        private final OneClickMetrics.Snapshot startSnapshot = OneClickMetrics.ENABLED ? OneClickMetrics.snapshot() : null;
+        private String classType;
+        private int fieldCount;
+        private boolean finished;
+
+        private Recording(OperationHistory history, String actionId, String fileName) {
+            this.history = history;
+            this.actionId = actionId;
+            this.fileName = fileName;
+        }
+
+        public Recording setClassType(@Nullable Object classType) {
+            this.classType = classType != null ? classType.toString() : null;
+            return this;
+        }
+
+        public Recording setFieldCount(int fieldCount) {
+            this.fieldCount = fieldCount;
+            return this;
+        }
+
+        /**
+         * 结束记录并加入历史，重复调用只记录一次
+         */
+        public void finish() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+
+            long duration = System.nanoTime() - startNanos;
+            long[] phaseNanos = new long[OneClickMetrics.Phase.values().length];
+            long mutations = 0;
+            if (startSnapshot != null) {
+                OneClickMetrics.Snapshot end = OneClickMetrics.snapshot();
+                for (OneClickMetrics.Phase phase : OneClickMetrics.Phase.values()) {
+                    phaseNanos[phase.ordinal()] = end.getTotalNanos(phase) - startSnapshot.getTotalNanos(phase);
+                }
+                for (OneClickMetrics.Counter counter : new OneClickMetrics.Counter[]{
+                        OneClickMetrics.Counter.FIELDS_REARRANGED, OneClickMetrics.Counter.METHODS_ADDED,
+                        OneClickMetrics.Counter.METHODS_UPDATED, OneClickMetrics.Counter.METHODS_REMOVED}) {
+                    mutations += end.getCount(counter) - startSnapshot.getCount(counter);
+                }
+            }
+            history.add(new OperationRecord(timestamp, actionId, fileName, classType, fieldCount,
+                    duration, phaseNanos, mutations));
+        }
+    }
+}
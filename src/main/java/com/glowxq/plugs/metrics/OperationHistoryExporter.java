@@ -0,0 +1,129 @@
+package com.glowxq.plugs.metrics;
+
+import com.glowxq.plugs.batch.BatchReport;
+import com.glowxq.plugs.utils.OneClickMetrics;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 将操作历史导出为CSV或JSON，时间单位为毫秒
+ *
+ * @author glowxq
+ */
+public final class OperationHistoryExporter {
+
+    private OperationHistoryExporter() {
+    }
+
+    /**
+     * 导出为CSV，第一行为表头
+     */
+    @NotNull
+    public static String toCsv(@NotNull List<OperationRecord> records) {
+        StringBuilder csv = new StringBuilder();
+        csv.append("timestamp,action,file,classType,fieldCount,durationMillis");
+        for (OneClickMetrics.Phase phase : OneClickMetrics.Phase.values()) {
+            csv.append(',').append(phaseKey(phase)).append("Millis");
+        }
+        csv.append(",mutations\n");
+
+        for (OperationRecord record : records) {
+            csv.append(Instant.ofEpochMilli(record.getTimestamp())).append(',')
+                    .append(csvField(record.getActionId())).append(',')
+                    .append(csvField(record.getFileName())).append(',')
+                    .append(csvField(record.getClassType())).append(',')
+                    .append(record.getFieldCount()).append(',')
+                    .append(millis(record.getDurationNanos()));
+            for (OneClickMetrics.Phase phase : OneClickMetrics.Phase.values()) {
+                csv.append(',').append(millis(record.getPhaseNanos(phase)));
+            }
+            csv.append(',').append(record.getMutationCount()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    /**
+     * 导出为JSON，包含每个操作的分位数统计和全部记录
+     */
+    @NotNull
+    public static String toJson(@NotNull List<OperationRecord> records) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+
+        json.append("  \"stats\": [");
+        List<OperationHistory.ActionStats> stats = OperationHistory.computeStats(records);
+        for (int i = 0; i < stats.size(); i++) {
+            OperationHistory.ActionStats stat = stats.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    {")
+                    .append("\"action\": ").append(BatchReport.quote(stat.getActionId()))
+                    .append(", \"count\": ").append(stat.getCount())
+                    .append(", \"p50Millis\": ").append(millis(stat.percentileNanos(50)))
+                    .append(", \"p90Millis\": ").append(millis(stat.percentileNanos(90)))
+                    .append(", \"p99Millis\": ").append(millis(stat.percentileNanos(99)))
+                    .append(", \"maxMillis\": ").append(millis(stat.maxNanos()))
+                    .append("}");
+        }
+        json.append(stats.isEmpty() ? "],\n" : "\n  ],\n");
+
+        json.append("  \"operations\": [");
+        for (int i = 0; i < records.size(); i++) {
+            OperationRecord record = records.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    {")
+                    .append("\"timestamp\": ").append(BatchReport.quote(Instant.ofEpochMilli(record.getTimestamp()).toString()))
+                    .append(", \"action\": ").append(BatchReport.quote(record.getActionId()))
+                    .append(", \"file\": ").append(BatchReport.quote(record.getFileName()))
+                    .append(", \"classType\": ").append(BatchReport.quote(record.getClassType()))
+                    .append(", \"fieldCount\": ").append(record.getFieldCount())
+                    .append(", \"durationMillis\": ").append(millis(record.getDurationNanos()));
+            for (OneClickMetrics.Phase phase : OneClickMetrics.Phase.values()) {
+                json.append(", \"").append(phaseKey(phase)).append("Millis\": ").append(millis(record.getPhaseNanos(phase)));
+            }
+            json.append(", \"mutations\": ").append(record.getMutationCount()).append("}");
+        }
+        json.append(records.isEmpty() ? "]\n" : "\n  ]\n");
+
+        json.append("}\n");
+        return json.toString();
+    }
+
+    /**
+     * 阶段名转换为驼峰形式，例如 PSI_MUTATE -> psiMutate
+     */
+    @NotNull
+    static String phaseKey(@NotNull OneClickMetrics.Phase phase) {
+        StringBuilder sb = new StringBuilder();
+        boolean upper = false;
+        for (char c : phase.name().toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c == '_') {
+                upper = true;
+            } else {
+                sb.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 纳秒转换为保留三位小数的毫秒
+     */
+    @NotNull
+    static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,73 @@
+package com.glowxq.plugs.metrics;
+
+import com.glowxq.plugs.utils.OneClickMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 单次OneClick操作的记录
+ * 阶段耗时和PSI修改次数来自 {@link OneClickMetrics}，未开启埋点时为0
+ *
+ * @author glowxq
+ */
+public final class OperationRecord {
+
+    private final long timestamp;
+    private final String actionId;
+    private final String fileName;
+    private final String classType;
+    private final int fieldCount;
+    private final long durationNanos;
+    private final long[] phaseNanos;
+    private final long mutationCount;
+
+    OperationRecord(long timestamp, @NotNull String actionId, @Nullable String fileName, @Nullable String classType,
+                    int fieldCount, long durationNanos, @NotNull long[] phaseNanos, long mutationCount) {
+        this.timestamp = timestamp;
+        this.actionId = actionId;
+        this.fileName = fileName;
+        this.classType = classType;
+        this.fieldCount = fieldCount;
+        this.durationNanos = durationNanos;
+        this.phaseNanos = phaseNanos;
+        this.mutationCount = mutationCount;
+    }
+
+    /**
+     * 操作开始时间（毫秒时间戳）
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @NotNull
+    public String getActionId() {
+        return actionId;
+    }
+
+    @Nullable
+    public String getFileName() {
+        return fileName;
+    }
+
+    @Nullable
+    public String getClassType() {
+        return classType;
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public long getPhaseNanos(@NotNull OneClickMetrics.Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public long getMutationCount() {
+        return mutationCount;
+    }
+}
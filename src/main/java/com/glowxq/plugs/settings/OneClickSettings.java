@@ -5,6 +5,8 @@ import com.intellij.openapi.components.PersistentStateComponent;
 import com.intellij.openapi.components.Service;
 import com.intellij.openapi.components.State;
 import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -20,6 +22,9 @@ public final class OneClickSettings implements PersistentStateComponent<OneClick
 
     private State myState = new State();
 
+    // 设置变化计数，用于使依赖设置的缓存失效
+    private final SimpleModificationTracker modificationTracker = new SimpleModificationTracker();
+
     public static OneClickSettings getInstance() {
         return ApplicationManager.getApplication().getService(OneClickSettings.class);
     }
@@ -32,6 +37,24 @@ public final class OneClickSettings implements PersistentStateComponent<OneClick
     @Override
     public void loadState(@NotNull State state) {
         myState = state;
+        fireSettingsChanged();
+    }
+
+    /**
+     * 设置的修改追踪器，设置保存或加载后计数增加
+     */
+    public ModificationTracker getModificationTracker() {
+        return modificationTracker;
+    }
+
+    /**
+     * 标记设置已修改并通知监听器（设置页面应用后调用）
+     */
+    public void fireSettingsChanged() {
+        modificationTracker.incModificationCount();
+        ApplicationManager.getApplication().getMessageBus()
+                .syncPublisher(OneClickSettingsListener.TOPIC)
+                .settingsChanged(this);
     }
 
     /**
@@ -54,6 +77,7 @@ public final class OneClickSettings implements PersistentStateComponent<OneClick
         public boolean autoDetectClassType = true;
         public boolean useFieldComments = true;
         public boolean generateSerialVersionUID = false;
+        public boolean autoRegenerateOnFieldChange = false; // 编辑JavaBean字段后自动同步访问器
         
         // 代码风格设置
         public boolean useBuilderPattern = false;
@@ -83,6 +107,16 @@ public final class OneClickSettings implements PersistentStateComponent<OneClick
 
         // 语言设置
         public boolean useEnglish = false; // 默认使用中文
+
+        // 批量处理设置
+        public int batchChunkSize = 50; // 每个写命令处理的文件数
+        public boolean enableIncrementalGeneration = true; // 跳过上次生成后未变化的类
+        public boolean batchSkipTestSources = false; // 批量处理时跳过测试源码目录
+        public boolean batchSkipGeneratedSources = true; // 批量处理时跳过生成的源码
+        public boolean batchBeanCandidatesOnly = false; // 批量处理时按索引只分析JavaBean候选类
+
+        // 格式化设置
+        public boolean reformatChangedRangesOnly = true; // 只格式化生成或移动的代码范围
     }
 
     // Getter方法
@@ -314,4 +348,63 @@ public final class OneClickSettings implements PersistentStateComponent<OneClick
     public void setBeanUtilsClass(String beanUtilsClass) {
         myState.beanUtilsClass = beanUtilsClass;
     }
+
+    // 批量处理设置的getter和setter方法
+    public int getBatchChunkSize() {
+        return myState.batchChunkSize;
+    }
+
+    public void setBatchChunkSize(int batchChunkSize) {
+        myState.batchChunkSize = batchChunkSize;
+    }
+
+    public boolean isEnableIncrementalGeneration() {
+        return myState.enableIncrementalGeneration;
+    }
+
+    public void setEnableIncrementalGeneration(boolean enableIncrementalGeneration) {
+        myState.enableIncrementalGeneration = enableIncrementalGeneration;
+    }
+
+    public boolean isBatchSkipTestSources() {
+        return myState.batchSkipTestSources;
+    }
+
+    public void setBatchSkipTestSources(boolean batchSkipTestSources) {
+        myState.batchSkipTestSources = batchSkipTestSources;
+    }
+
+    public boolean isBatchSkipGeneratedSources() {
+        return myState.batchSkipGeneratedSources;
+    }
+
+    public void setBatchSkipGeneratedSources(boolean batchSkipGeneratedSources) {
+        myState.batchSkipGeneratedSources = batchSkipGeneratedSources;
+    }
+
+    public boolean isBatchBeanCandidatesOnly() {
+        return myState.batchBeanCandidatesOnly;
+    }
+
+    public void setBatchBeanCandidatesOnly(boolean batchBeanCandidatesOnly) {
+        myState.batchBeanCandidatesOnly = batchBeanCandidatesOnly;
+    }
+
+    // 字段编辑后自动同步设置
+    public boolean isAutoRegenerateOnFieldChange() {
+        return myState.autoRegenerateOnFieldChange;
+    }
+
+    public void setAutoRegenerateOnFieldChange(boolean autoRegenerateOnFieldChange) {
+        myState.autoRegenerateOnFieldChange = autoRegenerateOnFieldChange;
+    }
+
+    // 格式化设置的getter和setter方法
+    public boolean isReformatChangedRangesOnly() {
+        return myState.reformatChangedRangesOnly;
+    }
+
+    public void setReformatChangedRangesOnly(boolean reformatChangedRangesOnly) {
+        myState.reformatChangedRangesOnly = reformatChangedRangesOnly;
+    }
 }
@@ -39,6 +39,7 @@ public class OneClickSettingsComponent {
     private final JBCheckBox autoDetectClassType = new JBCheckBox();
     private final JBCheckBox useFieldComments = new JBCheckBox();
     private final JBCheckBox generateSerialVersionUID = new JBCheckBox();
+    private final JBCheckBox autoRegenerateOnFieldChange = new JBCheckBox();
 
     // 代码风格设置
     private final JBCheckBox useBuilderPattern = new JBCheckBox();
@@ -66,6 +67,16 @@ public class OneClickSettingsComponent {
     private final JBCheckBox useBeanUtilsForConversion = new JBCheckBox();
     private final JBTextField beanUtilsClass = new JBTextField();
 
+    // 批量处理设置
+    private final JSpinner batchChunkSize = new JSpinner(new SpinnerNumberModel(50, 1, 1000, 10));
+    private final JBCheckBox enableIncrementalGeneration = new JBCheckBox();
+    private final JBCheckBox batchSkipTestSources = new JBCheckBox();
+    private final JBCheckBox batchSkipGeneratedSources = new JBCheckBox();
+    private final JBCheckBox batchBeanCandidatesOnly = new JBCheckBox();
+
+    // 格式化设置
+    private final JBCheckBox reformatChangedRangesOnly = new JBCheckBox();
+
     public OneClickSettingsComponent() {
         // 初始化文本
         updateTexts();
@@ -128,10 +139,14 @@ public class OneClickSettingsComponent {
         autoDetectClassType.setText(I18nUtils.message("settings.general.auto.detect"));
         useFieldComments.setText(I18nUtils.message("settings.general.field.comments"));
         generateSerialVersionUID.setText(I18nUtils.message("settings.general.serial.version"));
+        autoRegenerateOnFieldChange.setText(I18nUtils.message("settings.general.auto.regenerate"));
+        autoRegenerateOnFieldChange.setToolTipText(I18nUtils.message("settings.general.auto.regenerate.tooltip"));
 
         // 代码风格设置
         useBuilderPattern.setText(I18nUtils.message("settings.style.builder.pattern"));
         generateFluentSetters.setText(I18nUtils.message("settings.style.fluent.setters"));
+        reformatChangedRangesOnly.setText(I18nUtils.message("settings.style.reformat.ranges"));
+        reformatChangedRangesOnly.setToolTipText(I18nUtils.message("settings.style.reformat.ranges.tooltip"));
 
         // 内部类设置
         processInnerClasses.setText(I18nUtils.message("settings.inner.class.process"));
@@ -149,6 +164,16 @@ public class OneClickSettingsComponent {
         // DTO/VO/BO生成设置
         useBeanUtilsForConversion.setText(I18nUtils.message("settings.dto.use.beanutils"));
         beanUtilsClass.setToolTipText(I18nUtils.message("settings.dto.beanutils.class.tooltip"));
+
+        // 批量处理设置
+        batchChunkSize.setToolTipText(I18nUtils.message("settings.batch.chunk.size.tooltip"));
+        enableIncrementalGeneration.setText(I18nUtils.message("settings.batch.incremental"));
+        enableIncrementalGeneration.setToolTipText(I18nUtils.message("settings.batch.incremental.tooltip"));
+        batchSkipTestSources.setText(I18nUtils.message("settings.batch.skip.tests"));
+        batchSkipGeneratedSources.setText(I18nUtils.message("settings.batch.skip.generated"));
+        batchSkipGeneratedSources.setToolTipText(I18nUtils.message("settings.batch.skip.generated.tooltip"));
+        batchBeanCandidatesOnly.setText(I18nUtils.message("settings.batch.bean.candidates"));
+        batchBeanCandidatesOnly.setToolTipText(I18nUtils.message("settings.batch.bean.candidates.tooltip"));
     }
 
     /**
@@ -171,6 +196,8 @@ public class OneClickSettingsComponent {
                 .addComponent(createTitledPanel(I18nUtils.message("settings.package.rules.title"), createPackageRulesPanel()))
                 .addVerticalGap(10)
                 .addComponent(createTitledPanel(I18nUtils.message("settings.dto.generation.title"), createDtoGenerationPanel()))
+                .addVerticalGap(10)
+                .addComponent(createTitledPanel(I18nUtils.message("settings.batch.title"), createBatchPanel()))
                 .addComponentFillVertically(new JPanel(), 0)
                 .getPanel();
     }
@@ -240,6 +267,7 @@ public class OneClickSettingsComponent {
                 .addComponent(autoDetectClassType)
                 .addComponent(useFieldComments)
                 .addComponent(generateSerialVersionUID)
+                .addComponent(autoRegenerateOnFieldChange)
                 .getPanel();
     }
 
@@ -248,6 +276,7 @@ public class OneClickSettingsComponent {
                 .addComponent(useBuilderPattern)
                 .addComponent(generateFluentSetters)
                 .addLabeledComponent(new JBLabel("ToString style:"), toStringStyle)
+                .addComponent(reformatChangedRangesOnly)
                 .getPanel();
     }
 
@@ -277,6 +306,19 @@ public class OneClickSettingsComponent {
                 .getPanel();
     }
 
+    /**
+     * 创建批量处理设置面板
+     */
+    private JPanel createBatchPanel() {
+        return FormBuilder.createFormBuilder()
+                .addLabeledComponent(new JBLabel(I18nUtils.message("settings.batch.chunk.size")), batchChunkSize)
+                .addComponent(enableIncrementalGeneration)
+                .addComponent(batchSkipTestSources)
+                .addComponent(batchSkipGeneratedSources)
+                .addComponent(batchBeanCandidatesOnly)
+                .getPanel();
+    }
+
     public JPanel getPanel() {
         return myMainPanel;
     }
@@ -514,4 +556,62 @@ public class OneClickSettingsComponent {
     public void setBeanUtilsClass(String className) {
         beanUtilsClass.setText(className);
     }
+
+    // 批量处理设置的getter和setter方法
+    public int getBatchChunkSize() {
+        return (Integer) batchChunkSize.getValue();
+    }
+
+    public void setBatchChunkSize(int chunkSize) {
+        batchChunkSize.setValue(chunkSize);
+    }
+
+    public boolean isEnableIncrementalGeneration() {
+        return enableIncrementalGeneration.isSelected();
+    }
+
+    public void setEnableIncrementalGeneration(boolean enabled) {
+        enableIncrementalGeneration.setSelected(enabled);
+    }
+
+    public boolean isBatchSkipTestSources() {
+        return batchSkipTestSources.isSelected();
+    }
+
+    public void setBatchSkipTestSources(boolean selected) {
+        batchSkipTestSources.setSelected(selected);
+    }
+
+    public boolean isBatchSkipGeneratedSources() {
+        return batchSkipGeneratedSources.isSelected();
+    }
+
+    public void setBatchSkipGeneratedSources(boolean selected) {
+        batchSkipGeneratedSources.setSelected(selected);
+    }
+
+    public boolean isBatchBeanCandidatesOnly() {
+        return batchBeanCandidatesOnly.isSelected();
+    }
+
+    public void setBatchBeanCandidatesOnly(boolean selected) {
+        batchBeanCandidatesOnly.setSelected(selected);
+    }
+
+    // 格式化设置的getter和setter方法
+    public boolean isAutoRegenerateOnFieldChange() {
+        return autoRegenerateOnFieldChange.isSelected();
+    }
+
+    public void setAutoRegenerateOnFieldChange(boolean selected) {
+        autoRegenerateOnFieldChange.setSelected(selected);
+    }
+
+    public boolean isReformatChangedRangesOnly() {
+        return reformatChangedRangesOnly.isSelected();
+    }
+
+    public void setReformatChangedRangesOnly(boolean selected) {
+        reformatChangedRangesOnly.setSelected(selected);
+    }
 }
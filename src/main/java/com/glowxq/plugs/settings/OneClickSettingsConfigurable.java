@@ -43,6 +43,7 @@ public class OneClickSettingsConfigurable implements Configurable {
                mySettingsComponent.isAutoDetectClassType() != settings.isAutoDetectClassType() ||
                mySettingsComponent.isUseFieldComments() != settings.isUseFieldComments() ||
                mySettingsComponent.isGenerateSerialVersionUID() != settings.isGenerateSerialVersionUID() ||
+               mySettingsComponent.isAutoRegenerateOnFieldChange() != settings.isAutoRegenerateOnFieldChange() ||
                mySettingsComponent.isUseBuilderPattern() != settings.isUseBuilderPattern() ||
                mySettingsComponent.isGenerateFluentSetters() != settings.isGenerateFluentSetters() ||
                !mySettingsComponent.getToStringStyle().equals(settings.getToStringStyle()) ||
@@ -62,7 +63,15 @@ public class OneClickSettingsConfigurable implements Configurable {
                !mySettingsComponent.getModifierSortOrder().equals(settings.getModifierSortOrder()) ||
                // DTO/VO/BO生成设置
                mySettingsComponent.isUseBeanUtilsForConversion() != settings.isUseBeanUtilsForConversion() ||
-               !mySettingsComponent.getBeanUtilsClass().equals(settings.getBeanUtilsClass());
+               !mySettingsComponent.getBeanUtilsClass().equals(settings.getBeanUtilsClass()) ||
+               // 批量处理设置
+               mySettingsComponent.getBatchChunkSize() != settings.getBatchChunkSize() ||
+               mySettingsComponent.isEnableIncrementalGeneration() != settings.isEnableIncrementalGeneration() ||
+               mySettingsComponent.isBatchSkipTestSources() != settings.isBatchSkipTestSources() ||
+               mySettingsComponent.isBatchSkipGeneratedSources() != settings.isBatchSkipGeneratedSources() ||
+               mySettingsComponent.isBatchBeanCandidatesOnly() != settings.isBatchBeanCandidatesOnly() ||
+               // 格式化设置
+               mySettingsComponent.isReformatChangedRangesOnly() != settings.isReformatChangedRangesOnly();
     }
 
     @Override
@@ -79,6 +88,7 @@ public class OneClickSettingsConfigurable implements Configurable {
         settings.setAutoDetectClassType(mySettingsComponent.isAutoDetectClassType());
         settings.setUseFieldComments(mySettingsComponent.isUseFieldComments());
         settings.setGenerateSerialVersionUID(mySettingsComponent.isGenerateSerialVersionUID());
+        settings.setAutoRegenerateOnFieldChange(mySettingsComponent.isAutoRegenerateOnFieldChange());
         settings.setUseBuilderPattern(mySettingsComponent.isUseBuilderPattern());
         settings.setGenerateFluentSetters(mySettingsComponent.isGenerateFluentSetters());
         settings.setToStringStyle(mySettingsComponent.getToStringStyle());
@@ -102,6 +112,19 @@ public class OneClickSettingsConfigurable implements Configurable {
         // DTO/VO/BO生成设置
         settings.setUseBeanUtilsForConversion(mySettingsComponent.isUseBeanUtilsForConversion());
         settings.setBeanUtilsClass(mySettingsComponent.getBeanUtilsClass());
+
+        // 批量处理设置
+        settings.setBatchChunkSize(mySettingsComponent.getBatchChunkSize());
+        settings.setEnableIncrementalGeneration(mySettingsComponent.isEnableIncrementalGeneration());
+        settings.setBatchSkipTestSources(mySettingsComponent.isBatchSkipTestSources());
+        settings.setBatchSkipGeneratedSources(mySettingsComponent.isBatchSkipGeneratedSources());
+        settings.setBatchBeanCandidatesOnly(mySettingsComponent.isBatchBeanCandidatesOnly());
+
+        // 格式化设置
+        settings.setReformatChangedRangesOnly(mySettingsComponent.isReformatChangedRangesOnly());
+
+        // 使依赖设置的缓存（如类类型检测结果、包规则匹配器）失效
+        settings.fireSettingsChanged();
     }
 
     @Override
@@ -118,6 +141,7 @@ public class OneClickSettingsConfigurable implements Configurable {
         mySettingsComponent.setAutoDetectClassType(settings.isAutoDetectClassType());
         mySettingsComponent.setUseFieldComments(settings.isUseFieldComments());
         mySettingsComponent.setGenerateSerialVersionUID(settings.isGenerateSerialVersionUID());
+        mySettingsComponent.setAutoRegenerateOnFieldChange(settings.isAutoRegenerateOnFieldChange());
         mySettingsComponent.setUseBuilderPattern(settings.isUseBuilderPattern());
         mySettingsComponent.setGenerateFluentSetters(settings.isGenerateFluentSetters());
         mySettingsComponent.setToStringStyle(settings.getToStringStyle());
@@ -141,6 +165,16 @@ public class OneClickSettingsConfigurable implements Configurable {
         // DTO/VO/BO生成设置
         mySettingsComponent.setUseBeanUtilsForConversion(settings.isUseBeanUtilsForConversion());
         mySettingsComponent.setBeanUtilsClass(settings.getBeanUtilsClass());
+
+        // 批量处理设置
+        mySettingsComponent.setBatchChunkSize(settings.getBatchChunkSize());
+        mySettingsComponent.setEnableIncrementalGeneration(settings.isEnableIncrementalGeneration());
+        mySettingsComponent.setBatchSkipTestSources(settings.isBatchSkipTestSources());
+        mySettingsComponent.setBatchSkipGeneratedSources(settings.isBatchSkipGeneratedSources());
+        mySettingsComponent.setBatchBeanCandidatesOnly(settings.isBatchBeanCandidatesOnly());
+
+        // 格式化设置
+        mySettingsComponent.setReformatChangedRangesOnly(settings.isReformatChangedRangesOnly());
     }
 
     @Override
@@ -0,0 +1,20 @@
+package com.glowxq.plugs.settings;
+
+import com.intellij.util.messages.Topic;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * OneClick设置变化监听器
+ * 设置页面应用或设置重新加载后通过应用级消息总线通知
+ *
+ * @author glowxq
+ */
+public interface OneClickSettingsListener {
+
+    Topic<OneClickSettingsListener> TOPIC = Topic.create("OneClick Settings Changed", OneClickSettingsListener.class);
+
+    /**
+     * 设置已变化
+     */
+    void settingsChanged(@NotNull OneClickSettings settings);
+}
@@ -0,0 +1,231 @@
+package com.glowxq.plugs.startup;
+
+import com.glowxq.plugs.batch.BatchGenerationEngine;
+import com.glowxq.plugs.batch.BatchReport;
+import com.glowxq.plugs.batch.BatchResult;
+import com.glowxq.plugs.batch.ClassDrift;
+import com.glowxq.plugs.batch.JavaSourceFinder;
+import com.intellij.ide.impl.ProjectUtil;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ApplicationStarter;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 无界面批量生成入口，用于在CI中检查或修复生成的代码
+ * <p>
+ * 用法：idea oneclick &lt;项目路径&gt; [--check|--apply] [--report &lt;文件&gt;] [--path &lt;相对目录&gt;]... [--incremental]
+ * <ul>
+ *   <li>--check：只读检查（默认），存在差异时退出码为1</li>
+ *   <li>--apply：执行批量生成并保存文件</li>
+ *   <li>--report：JSON报告输出文件，未指定时输出到标准输出</li>
+ *   <li>--path：只处理项目中的指定目录，可以重复</li>
+ *   <li>--incremental：跳过指纹未变化的类（默认检查所有类）</li>
+ * </ul>
+ * 退出码：0 成功且无差异，1 检查发现差异，2 处理出错，3 参数错误
+ *
+ * @author glowxq
+ */
+public class OneClickBatchStarter implements ApplicationStarter {
+
+    private static final Logger LOG = Logger.getInstance(OneClickBatchStarter.class);
+
+    private static final int EXIT_OK = 0;
+    private static final int EXIT_DRIFT = 1;
+    private static final int EXIT_ERROR = 2;
+    private static final int EXIT_USAGE = 3;
+
+    private static final String USAGE =
+            "Usage: oneclick <projectPath> [--check|--apply] [--report <file>] [--path <relativeDir>]... [--incremental]";
+
+    @Override
+    public boolean isHeadless() {
+        return true;
+    }
+
+    @Override
+    public int getRequiredModality() {
+        // 批量引擎在后台线程执行读操作，写操作通过invokeAndWait切换到EDT
+        return NOT_IN_EDT;
+    }
+
+    @Override
+    public void main(@NotNull List<String> args) {
+        int exitCode;
+        try {
+            exitCode = run(args);
+        } catch (Throwable t) {
+            LOG.error("OneClick batch run failed", t);
+            System.err.println("OneClick batch run failed: " + t.getMessage());
+            exitCode = EXIT_ERROR;
+        }
+        System.exit(exitCode);
+    }
+
+    private int run(List<String> args) throws IOException {
+        // 第一个参数是命令名
+        String projectPath = null;
+        boolean apply = false;
+        boolean incremental = false;
+        String reportPath = null;
+        List<String> includePaths = new ArrayList<>();
+
+        for (int i = 1; i < args.size(); i++) {
+            String arg = args.get(i);
+            switch (arg) {
+                case "--check":
+                    apply = false;
+                    break;
+                case "--apply":
+                    apply = true;
+                    break;
+                case "--incremental":
+                    incremental = true;
+                    break;
+                case "--report":
+                case "--path":
+                    if (i + 1 >= args.size()) {
+                        System.err.println("Missing value for " + arg + "\n" + USAGE);
+                        return EXIT_USAGE;
+                    }
+                    if ("--report".equals(arg)) {
+                        reportPath = args.get(++i);
+                    } else {
+                        includePaths.add(args.get(++i));
+                    }
+                    break;
+                default:
+                    if (arg.startsWith("--") || projectPath != null) {
+                        System.err.println("Unexpected argument: " + arg + "\n" + USAGE);
+                        return EXIT_USAGE;
+                    }
+                    projectPath = arg;
+            }
+        }
+
+        if (projectPath == null) {
+            System.err.println(USAGE);
+            return EXIT_USAGE;
+        }
+
+        Path projectDir = Paths.get(projectPath).toAbsolutePath().normalize();
+        if (!Files.isDirectory(projectDir)) {
+            System.err.println("Project directory not found: " + projectDir);
+            return EXIT_USAGE;
+        }
+
+        Project project = ProjectUtil.openOrImport(projectDir, null, false);
+        if (project == null) {
+            System.err.println("Failed to open project: " + projectDir);
+            return EXIT_ERROR;
+        }
+
+        try {
+            List<VirtualFile> roots = resolveRoots(projectDir, includePaths);
+            if (roots == null) {
+                return EXIT_USAGE;
+            }
+
+            // 等待索引完成后再分析
+            DumbService.getInstance(project).waitForSmartMode();
+            List<VirtualFile> javaFiles = collectJavaFiles(project, roots);
+
+            long startTime = System.currentTimeMillis();
+            BatchGenerationEngine engine = new BatchGenerationEngine(project);
+            engine.setIncremental(incremental);
+            ProgressIndicator indicator = new EmptyProgressIndicator();
+            boolean applyMode = apply;
+            BatchResult result = ProgressManager.getInstance().runProcess(
+                    () -> applyMode ? engine.run(javaFiles, indicator) : engine.check(javaFiles, indicator),
+                    indicator);
+
+            if (applyMode) {
+                ApplicationManager.getApplication().invokeAndWait(
+                        () -> FileDocumentManager.getInstance().saveAllDocuments());
+            }
+
+            String report = BatchReport.toJson(result, applyMode ? "apply" : "check",
+                    projectDir.toString().replace('\\', '/'), System.currentTimeMillis() - startTime);
+            if (reportPath != null) {
+                Files.write(Paths.get(reportPath), report.getBytes(StandardCharsets.UTF_8));
+            } else {
+                System.out.print(report);
+            }
+
+            printSummary(result, applyMode);
+            if (result.getErrorCount() > 0 || result.isCanceled()) {
+                return EXIT_ERROR;
+            }
+            return result.hasDrift() ? EXIT_DRIFT : EXIT_OK;
+        } finally {
+            ApplicationManager.getApplication().invokeAndWait(
+                    () -> ProjectManager.getInstance().closeAndDispose(project));
+        }
+    }
+
+    /**
+     * 解析需要处理的目录，未指定时处理整个项目
+     */
+    private List<VirtualFile> resolveRoots(Path projectDir, List<String> includePaths) {
+        List<Path> paths = new ArrayList<>();
+        if (includePaths.isEmpty()) {
+            paths.add(projectDir);
+        } else {
+            for (String includePath : includePaths) {
+                paths.add(projectDir.resolve(includePath).normalize());
+            }
+        }
+
+        List<VirtualFile> roots = new ArrayList<>();
+        for (Path path : paths) {
+            VirtualFile root = LocalFileSystem.getInstance().refreshAndFindFileByNioFile(path);
+            if (root == null) {
+                System.err.println("Directory not found: " + path);
+                return null;
+            }
+            // 确保VFS与磁盘一致
+            VfsUtil.markDirtyAndRefresh(false, true, true, root);
+            roots.add(root);
+        }
+        return roots;
+    }
+
+    /**
+     * 收集目录下属于源码目录的Java文件
+     */
+    private List<VirtualFile> collectJavaFiles(Project project, List<VirtualFile> roots) {
+        return ReadAction.compute(() -> JavaSourceFinder.findJavaFiles(project, roots, JavaSourceFinder.Filter.fromSettings()));
+    }
+
+    private void printSummary(BatchResult result, boolean applyMode) {
+        System.err.println(String.format("OneClick %s: %d files, %d processed, %d skipped, %d errors, %d classes with drift",
+                applyMode ? "apply" : "check",
+                result.getTotalFiles(), result.getSuccessCount(), result.getSkippedCount(),
+                result.getErrorCount(), result.getDrifts().size()));
+        for (ClassDrift drift : result.getDrifts()) {
+            System.err.println("  " + drift.getClassName() + " (" + drift.getFilePath() + ")");
+        }
+        for (String error : result.getErrorMessages()) {
+            System.err.println("  error: " + error);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.glowxq.plugs.startup;
 
+import com.glowxq.plugs.batch.FieldChangeRegenerator;
 import com.glowxq.plugs.utils.I18nUtils;
 import com.intellij.notification.Notification;
 import com.intellij.notification.NotificationGroupManager;
@@ -25,6 +26,9 @@ public class OneClickStartupActivity implements StartupActivity {
 
     @Override
     public void runActivity(@NotNull Project project) {
+        // 监听字段变化，设置中开启后自动同步JavaBean方法
+        FieldChangeRegenerator.getInstance(project).install();
+
         // 检查是否已经显示过欢迎通知
         String shownVersion = System.getProperty(SHOWN_KEY);
         String currentVersion = "1.0.0";
@@ -0,0 +1,91 @@
+package com.glowxq.plugs.ui;
+
+import com.glowxq.plugs.batch.BatchPreview;
+import com.glowxq.plugs.batch.BatchResult;
+import com.glowxq.plugs.batch.ClassDrift;
+import com.glowxq.plugs.utils.I18nUtils;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.ui.JBUI;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+
+/**
+ * 批量生成试运行的预览对话框
+ * 上方为汇总（修改的文件数、新增/更新/删除的方法数），下方为每个会被修改的类
+ *
+ * @author glowxq
+ */
+public class BatchPreviewDialog extends DialogWrapper {
+
+    private final Project project;
+    private final BatchPreview preview;
+
+    public BatchPreviewDialog(@NotNull Project project, @NotNull BatchPreview preview) {
+        super(project, true);
+        this.project = project;
+        this.preview = preview;
+        setTitle(I18nUtils.message("preview.title"));
+        setOKButtonText(I18nUtils.message("preview.apply"));
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        BatchResult analysis = preview.getAnalysisResult();
+        JBLabel summary = new JBLabel(I18nUtils.message("preview.summary",
+                preview.getChangedFileCount(), analysis.getTotalFiles(), preview.getEntries().size(),
+                preview.getAccessorsToAdd(), preview.getAccessorsToUpdate(), preview.getAccessorsToRemove(),
+                analysis.getSkippedCount() + analysis.getFilteredCount(), analysis.getErrorCount()));
+        summary.setBorder(JBUI.Borders.emptyBottom(8));
+
+        DefaultTableModel model = new DefaultTableModel(new Object[]{
+                I18nUtils.message("preview.column.file"),
+                I18nUtils.message("preview.column.class"),
+                I18nUtils.message("preview.column.add"),
+                I18nUtils.message("preview.column.update"),
+                I18nUtils.message("preview.column.remove"),
+                I18nUtils.message("preview.column.field.order"),
+                I18nUtils.message("preview.column.logger")}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        for (BatchPreview.Entry entry : preview.getEntries()) {
+            ClassDrift drift = entry.getDrift();
+            model.addRow(new Object[]{
+                    relativePath(entry.getFile()),
+                    drift.getClassName(),
+                    drift.getAccessorsToAdd(),
+                    drift.getAccessorsToUpdate(),
+                    drift.getAccessorsToRemove(),
+                    drift.isFieldOrderDrift() ? "✓" : "",
+                    drift.isMissingLogger() ? "✓" : ""
+            });
+        }
+
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.add(summary, BorderLayout.NORTH);
+        JBScrollPane scrollPane = new JBScrollPane(new JBTable(model));
+        scrollPane.setPreferredSize(JBUI.size(760, 360));
+        panel.add(scrollPane, BorderLayout.CENTER);
+        return panel;
+    }
+
+    private String relativePath(VirtualFile file) {
+        VirtualFile baseDir = ProjectUtil.guessProjectDir(project);
+        String relative = baseDir != null ? VfsUtilCore.getRelativePath(file, baseDir) : null;
+        return relative != null ? relative : file.getPath();
+    }
+}
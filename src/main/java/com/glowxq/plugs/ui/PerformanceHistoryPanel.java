@@ -0,0 +1,198 @@
+package com.glowxq.plugs.ui;
+
+import com.glowxq.plugs.metrics.OperationHistory;
+import com.glowxq.plugs.metrics.OperationHistoryExporter;
+import com.glowxq.plugs.metrics.OperationRecord;
+import com.glowxq.plugs.utils.I18nUtils;
+import com.glowxq.plugs.utils.OneClickMetrics;
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.fileChooser.FileSaverDialog;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.ui.JBSplitter;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.ui.JBUI;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * OneClick性能工具窗口面板
+ * 上方为每个操作的耗时分位数，下方为最近的操作记录，支持导出CSV/JSON
+ *
+ * @author glowxq
+ */
+public class PerformanceHistoryPanel extends SimpleToolWindowPanel {
+
+    private final Project project;
+    private final DefaultTableModel statsModel = readOnlyModel(
+            I18nUtils.message("performance.column.action"),
+            I18nUtils.message("performance.column.count"),
+            "P50 (ms)", "P90 (ms)", "P99 (ms)",
+            I18nUtils.message("performance.column.max"));
+    private final DefaultTableModel recordsModel = readOnlyModel(
+            I18nUtils.message("performance.column.time"),
+            I18nUtils.message("performance.column.action"),
+            I18nUtils.message("performance.column.file"),
+            I18nUtils.message("performance.column.class.type"),
+            I18nUtils.message("performance.column.fields"),
+            I18nUtils.message("performance.column.total"),
+            I18nUtils.message("performance.column.detect"),
+            I18nUtils.message("performance.column.plan"),
+            I18nUtils.message("performance.column.mutate"),
+            I18nUtils.message("performance.column.reformat"),
+            I18nUtils.message("performance.column.mutations"));
+
+    public PerformanceHistoryPanel(@NotNull Project project, @NotNull Disposable parentDisposable) {
+        super(true, true);
+        this.project = project;
+
+        JBSplitter splitter = new JBSplitter(true, 0.3f);
+        splitter.setFirstComponent(new JBScrollPane(new JBTable(statsModel)));
+        splitter.setSecondComponent(new JBScrollPane(new JBTable(recordsModel)));
+
+        JPanel content = new JPanel(new BorderLayout());
+        content.add(splitter, BorderLayout.CENTER);
+        if (!OneClickMetrics.ENABLED) {
+            JBLabel hint = new JBLabel(I18nUtils.message("performance.metrics.disabled"));
+            hint.setBorder(JBUI.Borders.empty(4, 8));
+            content.add(hint, BorderLayout.SOUTH);
+        }
+        setContent(content);
+        setToolbar(createToolbar().getComponent());
+
+        ApplicationManager.getApplication().getMessageBus().connect(parentDisposable)
+                .subscribe(OperationHistory.Listener.TOPIC,
+                        () -> ApplicationManager.getApplication().invokeLater(this::refresh));
+        refresh();
+    }
+
+    private ActionToolbar createToolbar() {
+        DefaultActionGroup group = new DefaultActionGroup();
+        group.add(new DumbAwareAction(I18nUtils.message("performance.action.refresh"), null, AllIcons.Actions.Refresh) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e) {
+                refresh();
+            }
+        });
+        group.add(new DumbAwareAction(I18nUtils.message("performance.action.clear"), null, AllIcons.Actions.GC) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e) {
+                OperationHistory.getInstance().clear();
+            }
+        });
+        group.addSeparator();
+        group.add(new DumbAwareAction(I18nUtils.message("performance.action.export.csv"), null, AllIcons.ToolbarDecorator.Export) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e) {
+                export("csv", OperationHistoryExporter::toCsv);
+            }
+        });
+        group.add(new DumbAwareAction(I18nUtils.message("performance.action.export.json"), null, AllIcons.ToolbarDecorator.Export) {
+            @Override
+            public void actionPerformed(@NotNull AnActionEvent e) {
+                export("json", OperationHistoryExporter::toJson);
+            }
+        });
+
+        ActionToolbar toolbar = ActionManager.getInstance().createActionToolbar("OneClickPerformance", group, true);
+        toolbar.setTargetComponent(this);
+        return toolbar;
+    }
+
+    /**
+     * 重新加载历史记录
+     */
+    private void refresh() {
+        List<OperationRecord> records = OperationHistory.getInstance().getRecords();
+
+        statsModel.setRowCount(0);
+        for (OperationHistory.ActionStats stats : OperationHistory.computeStats(records)) {
+            statsModel.addRow(new Object[]{
+                    stats.getActionId(),
+                    stats.getCount(),
+                    millis(stats.percentileNanos(50)),
+                    millis(stats.percentileNanos(90)),
+                    millis(stats.percentileNanos(99)),
+                    millis(stats.maxNanos())
+            });
+        }
+
+        // 最新的记录显示在最上面
+        SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
+        recordsModel.setRowCount(0);
+        for (int i = records.size() - 1; i >= 0; i--) {
+            OperationRecord record = records.get(i);
+            recordsModel.addRow(new Object[]{
+                    timeFormat.format(new Date(record.getTimestamp())),
+                    record.getActionId(),
+                    record.getFileName(),
+                    record.getClassType(),
+                    record.getFieldCount(),
+                    millis(record.getDurationNanos()),
+                    millis(record.getPhaseNanos(OneClickMetrics.Phase.DETECT)),
+                    millis(record.getPhaseNanos(OneClickMetrics.Phase.PLAN)),
+                    millis(record.getPhaseNanos(OneClickMetrics.Phase.PSI_MUTATE)),
+                    millis(record.getPhaseNanos(OneClickMetrics.Phase.REFORMAT)),
+                    record.getMutationCount()
+            });
+        }
+    }
+
+    private void export(String extension, Function<List<OperationRecord>, String> formatter) {
+        FileSaverDescriptor descriptor = new FileSaverDescriptor(
+                I18nUtils.message("performance.export.title"), "", extension);
+        FileSaverDialog dialog = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project);
+        VirtualFileWrapper target = dialog.save("oneclick-history." + extension);
+        if (target == null) {
+            return;
+        }
+
+        List<OperationRecord> records = OperationHistory.getInstance().getRecords();
+        try {
+            Files.writeString(target.getFile().toPath(), formatter.apply(records), StandardCharsets.UTF_8);
+            Messages.showInfoMessage(project,
+                    I18nUtils.message("performance.export.success", records.size(), target.getFile().getPath()),
+                    I18nUtils.message("performance.export.title"));
+        } catch (IOException ex) {
+            Messages.showErrorDialog(project,
+                    I18nUtils.message("performance.export.failed", ex.getMessage()),
+                    I18nUtils.message("performance.export.title"));
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+
+    private static DefaultTableModel readOnlyModel(String... columns) {
+        return new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+    }
+}
@@ -1,11 +1,19 @@
 package com.glowxq.plugs.utils;
 
 import com.glowxq.plugs.settings.OneClickSettings;
+import com.glowxq.plugs.settings.OneClickSettingsListener;
 import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiUtil;
+import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -48,71 +56,150 @@ public class ClassTypeDetector {
             "RequestMapping", "GetMapping", "PostMapping", "PutMapping", "DeleteMapping"
     ));
 
+    // 预编译的包规则匹配器，设置变化时清空，下次检测时重新编译
+    private static final Object PATTERN_LOCK = new Object();
+    private static volatile PackagePatternMatcher javaBeanPackageMatcher;
+    private static volatile PackagePatternMatcher businessPackageMatcher;
+
     /**
-     * 获取动态的JavaBean包规则
+     * 获取JavaBean包规则匹配器（使用动态包规则）
      */
-    private static Set<String> getJavaBeanPackagePatterns() {
-        OneClickSettings settings = OneClickSettings.getInstance();
-        if (settings.isEnablePackageDetection()) {
-            String patterns = settings.getJavaBeanPackagePatterns();
-            if (patterns != null && !patterns.trim().isEmpty()) {
-                Set<String> result = new HashSet<>();
-                for (String pattern : patterns.split(",")) {
-                    result.add(pattern.trim());
+    private static PackagePatternMatcher getJavaBeanPackageMatcher() {
+        PackagePatternMatcher matcher = javaBeanPackageMatcher;
+        if (matcher == null) {
+            synchronized (PATTERN_LOCK) {
+                matcher = javaBeanPackageMatcher;
+                if (matcher == null) {
+                    OneClickSettings settings = OneClickSettings.getInstance();
+                    matcher = compilePatterns(settings.isEnablePackageDetection() ? settings.getJavaBeanPackagePatterns() : null,
+                            BEAN_PACKAGE_PATTERNS);
+                    javaBeanPackageMatcher = matcher;
                 }
-                return result;
             }
         }
-        return BEAN_PACKAGE_PATTERNS;
+        return matcher;
     }
 
     /**
-     * 获取动态的业务类包规则
+     * 获取业务类包规则匹配器（使用动态包规则）
      */
-    private static Set<String> getBusinessClassPackagePatterns() {
-        OneClickSettings settings = OneClickSettings.getInstance();
-        if (settings.isEnablePackageDetection()) {
-            String patterns = settings.getBusinessClassPackagePatterns();
-            if (patterns != null && !patterns.trim().isEmpty()) {
-                Set<String> result = new HashSet<>();
-                for (String pattern : patterns.split(",")) {
-                    result.add(pattern.trim());
+    private static PackagePatternMatcher getBusinessPackageMatcher() {
+        PackagePatternMatcher matcher = businessPackageMatcher;
+        if (matcher == null) {
+            synchronized (PATTERN_LOCK) {
+                matcher = businessPackageMatcher;
+                if (matcher == null) {
+                    OneClickSettings settings = OneClickSettings.getInstance();
+                    matcher = compilePatterns(settings.isEnablePackageDetection() ? settings.getBusinessClassPackagePatterns() : null,
+                            BUSINESS_PACKAGE_PATTERNS);
+                    businessPackageMatcher = matcher;
                 }
-                return result;
             }
         }
-        return BUSINESS_PACKAGE_PATTERNS;
+        return matcher;
+    }
+
+    /**
+     * 编译配置的包规则，未配置时使用默认规则
+     */
+    private static PackagePatternMatcher compilePatterns(String patterns, Set<String> defaults) {
+        if (patterns != null && !patterns.trim().isEmpty()) {
+            return PackagePatternMatcher.compile(patterns);
+        }
+        return PackagePatternMatcher.compile(defaults);
+    }
+
+    /**
+     * 包名是否匹配JavaBean包规则
+     */
+    public static boolean isJavaBeanPackage(String packageName) {
+        return getJavaBeanPackageMatcher().matches(packageName);
+    }
+
+    /**
+     * JavaBean常见注解的简单名称（批量生成按注解索引预筛选时使用）
+     */
+    public static Set<String> getBeanAnnotationNames() {
+        return Collections.unmodifiableSet(BEAN_ANNOTATIONS);
+    }
+
+    /**
+     * 清空预编译的包规则，设置变化时调用
+     */
+    public static void invalidatePackagePatterns() {
+        synchronized (PATTERN_LOCK) {
+            javaBeanPackageMatcher = null;
+            businessPackageMatcher = null;
+        }
+    }
+
+    /**
+     * 设置变化时清空预编译的包规则
+     */
+    public static final class SettingsListener implements OneClickSettingsListener {
+        @Override
+        public void settingsChanged(@NotNull OneClickSettings settings) {
+            invalidatePackagePatterns();
+        }
     }
 
     /**
      * 检测类的类型
+     * 结果缓存在类上，类所在文件、父类所在文件或插件设置变化时失效
      */
     public static ClassType detectClassType(PsiClass psiClass) {
         if (psiClass == null) {
             return ClassType.UNKNOWN;
         }
+        return CachedValuesManager.getCachedValue(psiClass, () -> {
+            long start = OneClickMetrics.start();
+            try {
+                return CachedValueProvider.Result.create(computeClassType(psiClass), getDependencies(psiClass));
+            } finally {
+                OneClickMetrics.stop(OneClickMetrics.Phase.DETECT, start);
+            }
+        });
+    }
+
+    /**
+     * 类型检测结果的缓存依赖
+     */
+    private static Object[] getDependencies(PsiClass psiClass) {
+        List<Object> dependencies = new ArrayList<>(3);
+        PsiFile containingFile = psiClass.getContainingFile();
+        if (containingFile != null) {
+            dependencies.add(containingFile);
+        } else {
+            dependencies.add(PsiModificationTracker.MODIFICATION_COUNT);
+        }
+
+        // 父类名称参与评分
+        PsiClass superClass = psiClass.getSuperClass();
+        PsiFile superClassFile = superClass != null ? superClass.getContainingFile() : null;
+        if (superClassFile != null && superClassFile != containingFile) {
+            dependencies.add(superClassFile);
+        }
+
+        // 包规则等设置参与评分
+        dependencies.add(OneClickSettings.getInstance().getModificationTracker());
+        return dependencies.toArray();
+    }
 
+    /**
+     * 计算类的类型（不使用缓存）
+     */
+    private static ClassType computeClassType(PsiClass psiClass) {
         int beanScore = 0;
         int businessScore = 0;
 
-        // 1. 检查包名（使用动态包规则）
+        // 1. 检查包名（使用预编译的动态包规则）
         String packageName = getPackageName(psiClass);
         if (packageName != null) {
-            String lowerPackage = packageName.toLowerCase();
-            Set<String> beanPatterns = getJavaBeanPackagePatterns();
-            Set<String> businessPatterns = getBusinessClassPackagePatterns();
-
-            for (String pattern : beanPatterns) {
-                if (lowerPackage.contains(pattern.toLowerCase())) {
-                    beanScore += 3;
-                    break;
-                }
+            if (isJavaBeanPackage(packageName)) {
+                beanScore += 3;
             }
-            for (String pattern : businessPatterns) {
-                if (lowerPackage.contains(pattern.toLowerCase())) {
-                    businessScore += 3;
-                    break;
-                }
+            if (getBusinessPackageMatcher().matches(packageName)) {
+                businessScore += 3;
             }
         }
 
@@ -150,7 +237,11 @@ public class ClassTypeDetector {
             }
         }
 
-        // 4. 检查方法特征
+        // 4. 检查方法特征（字段名集合只构建一次，每个方法的匹配为常数时间）
+        Set<String> fieldNames = new HashSet<>(fields.length * 2);
+        for (PsiField field : fields) {
+            fieldNames.add(field.getName());
+        }
         PsiMethod[] methods = psiClass.getMethods();
         int getterSetterCount = 0;
         int businessMethodCount = 0;
@@ -159,7 +250,7 @@ public class ClassTypeDetector {
             String methodName = method.getName();
             
             // 检查getter/setter方法
-            if (isGetterOrSetter(method, fields)) {
+            if (isGetterOrSetter(method, fieldNames)) {
                 getterSetterCount++;
             } else if (!method.isConstructor() && 
                       !methodName.equals("toString") && 
@@ -249,43 +340,32 @@ public class ClassTypeDetector {
     /**
      * 检查方法是否为getter或setter
      */
-    private static boolean isGetterOrSetter(PsiMethod method, PsiField[] fields) {
+    private static boolean isGetterOrSetter(PsiMethod method, Set<String> fieldNames) {
         String methodName = method.getName();
         
         // 检查getter
         if (methodName.startsWith("get") && methodName.length() > 3) {
-            String fieldName = methodName.substring(3);
-            fieldName = Character.toLowerCase(fieldName.charAt(0)) + fieldName.substring(1);
-            return hasField(fields, fieldName) && method.getParameterList().getParametersCount() == 0;
+            return fieldNames.contains(decapitalize(methodName, 3)) && method.getParameterList().getParametersCount() == 0;
         }
         
         // 检查boolean getter
         if (methodName.startsWith("is") && methodName.length() > 2) {
-            String fieldName = methodName.substring(2);
-            fieldName = Character.toLowerCase(fieldName.charAt(0)) + fieldName.substring(1);
-            return hasField(fields, fieldName) && method.getParameterList().getParametersCount() == 0;
+            return fieldNames.contains(decapitalize(methodName, 2)) && method.getParameterList().getParametersCount() == 0;
         }
         
         // 检查setter
         if (methodName.startsWith("set") && methodName.length() > 3) {
-            String fieldName = methodName.substring(3);
-            fieldName = Character.toLowerCase(fieldName.charAt(0)) + fieldName.substring(1);
-            return hasField(fields, fieldName) && method.getParameterList().getParametersCount() == 1;
+            return fieldNames.contains(decapitalize(methodName, 3)) && method.getParameterList().getParametersCount() == 1;
         }
         
         return false;
     }
 
     /**
-     * 检查是否有指定名称的字段
+     * 去掉方法名前缀并将首字母小写，得到对应的字段名
      */
-    private static boolean hasField(PsiField[] fields, String fieldName) {
-        for (PsiField field : fields) {
-            if (fieldName.equals(field.getName())) {
-                return true;
-            }
-        }
-        return false;
+    private static String decapitalize(String methodName, int prefixLength) {
+        return Character.toLowerCase(methodName.charAt(prefixLength)) + methodName.substring(prefixLength + 1);
     }
 
     /**
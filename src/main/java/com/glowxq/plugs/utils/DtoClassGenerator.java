@@ -0,0 +1,360 @@
+package com.glowxq.plugs.utils;
+
+import com.glowxq.plugs.settings.OneClickSettings;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiImportList;
+import com.intellij.psi.PsiImportStatement;
+import com.intellij.psi.PsiJavaFile;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * DTO/VO/BO类内容生成器
+ * 只读取源类的PSI生成文件文本，不做任何修改，单个类生成和批量并行生成共用
+ *
+ * @author glowxq
+ */
+public final class DtoClassGenerator {
+
+    private DtoClassGenerator() {
+    }
+
+    /**
+     * 生成DTO/VO/BO类的内容（需要在读操作中调用）
+     */
+    public static String generateContent(PsiClass sourceClass, String newClassName, String suffix, String subDirName) {
+        StringBuilder sb = new StringBuilder();
+
+        // 获取包名
+        PsiFile sourceFile = sourceClass.getContainingFile();
+        String packageName = "";
+        String sourceClassFullName = "";
+        if (sourceFile instanceof PsiJavaFile) {
+            PsiJavaFile javaFile = (PsiJavaFile) sourceFile;
+            packageName = javaFile.getPackageName();
+            sourceClassFullName = packageName.isEmpty() ? sourceClass.getName() : packageName + "." + sourceClass.getName();
+        }
+
+        // 包声明 - 添加子包
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(".").append(subDirName).append(";\n\n");
+        } else {
+            sb.append("package ").append(subDirName).append(";\n\n");
+        }
+
+        // 收集需要导入的类型
+        Set<String> imports = new LinkedHashSet<>();
+        imports.add("java.io.Serializable");
+        imports.add("java.io.Serial"); // 添加@Serial注解的导入
+
+        // 添加源类的导入
+        if (!packageName.isEmpty()) {
+            imports.add(sourceClassFullName);
+        }
+
+        // 获取设置
+        OneClickSettings settings = OneClickSettings.getInstance();
+
+        // 如果使用BeanUtils，添加导入
+        if (settings.isUseBeanUtilsForConversion()) {
+            String beanUtilsClass = settings.getBeanUtilsClass();
+            if (beanUtilsClass != null && !beanUtilsClass.isEmpty()) {
+                imports.add(beanUtilsClass);
+            }
+        }
+
+        // 收集字段类型的导入
+        List<PsiField> fields = JavaBeanUtils.getInstanceFields(sourceClass);
+        for (PsiField field : fields) {
+            String fieldType = field.getType().getCanonicalText();
+            // 收集需要导入的类型
+            collectImportsFromType(fieldType, imports, packageName + "." + subDirName);
+        }
+
+        // 从源文件收集导入语句
+        if (sourceFile instanceof PsiJavaFile) {
+            PsiJavaFile javaFile = (PsiJavaFile) sourceFile;
+            PsiImportList importList = javaFile.getImportList();
+            if (importList != null) {
+                for (PsiImportStatement importStatement : importList.getImportStatements()) {
+                    String importText = importStatement.getQualifiedName();
+                    if (importText != null && !importText.isEmpty()) {
+                        // 检查是否是字段类型需要的导入
+                        for (PsiField field : fields) {
+                            String fieldType = field.getType().getCanonicalText();
+                            if (fieldType.contains(importText.substring(importText.lastIndexOf('.') + 1))) {
+                                imports.add(importText);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // 输出导入语句
+        for (String importStr : imports) {
+            sb.append("import ").append(importStr).append(";\n");
+        }
+        sb.append("\n");
+
+        // 类注释
+        sb.append("/**\n");
+        sb.append(" * ").append(sourceClass.getName()).append(" ").append(suffix).append(" 类\n");
+        sb.append(" * 自动生成的数据传输对象\n");
+        sb.append(" * \n");
+        sb.append(" * @author OneClick Plugin\n");
+        sb.append(" * @date ").append(new java.text.SimpleDateFormat("yyyy/MM/dd").format(new java.util.Date())).append("\n");
+        sb.append(" */\n");
+
+        // 类声明
+        sb.append("public class ").append(newClassName).append(" implements Serializable {\n\n");
+
+        // serialVersionUID with @Serial annotation
+        sb.append("    @Serial\n");
+        sb.append("    private static final long serialVersionUID = 1L;\n\n");
+
+        // 生成字段（使用之前已经获取的fields变量）
+        for (PsiField field : fields) {
+            String fieldType = getSimpleTypeName(field.getType().getCanonicalText());
+            String fieldName = field.getName();
+
+            sb.append("    private ").append(fieldType).append(" ").append(fieldName).append(";\n");
+        }
+
+        if (!fields.isEmpty()) {
+            sb.append("\n");
+        }
+
+        // 生成构造方法
+        sb.append("    public ").append(newClassName).append("() {\n");
+        sb.append("    }\n\n");
+
+        // 方法排序：toEntity、fromEntity、getter/setter、toString
+
+        // 1. 生成toEntity转换方法
+        String sourceClassName = sourceClass.getName();
+        sb.append("    /**\n");
+        sb.append("     * 转换为实体类\n");
+        sb.append("     */\n");
+        sb.append("    public ").append(sourceClassName).append(" toEntity() {\n");
+        sb.append("        ").append(sourceClassName).append(" entity = new ").append(sourceClassName).append("();\n");
+
+        if (settings.isUseBeanUtilsForConversion()) {
+            // 使用BeanUtils
+            String beanUtilsClass = settings.getBeanUtilsClass();
+            String beanUtilsSimpleName = beanUtilsClass.substring(beanUtilsClass.lastIndexOf('.') + 1);
+            sb.append("        ").append(beanUtilsSimpleName).append(".copyProperties(this, entity);\n");
+        } else {
+            // 使用原生getter/setter
+            for (PsiField field : fields) {
+                String fieldName = field.getName();
+                String getterName = getGetterNameForField(field);
+                String capitalizedName = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+                sb.append("        entity.set").append(capitalizedName).append("(this.").append(getterName).append("());\n");
+            }
+        }
+
+        sb.append("        return entity;\n");
+        sb.append("    }\n\n");
+
+        // 2. 生成fromEntity静态方法
+        sb.append("    /**\n");
+        sb.append("     * 从实体类转换\n");
+        sb.append("     */\n");
+        sb.append("    public static ").append(newClassName).append(" fromEntity(").append(sourceClassName).append(" entity) {\n");
+        sb.append("        if (entity == null) {\n");
+        sb.append("            return null;\n");
+        sb.append("        }\n");
+        sb.append("        ").append(newClassName).append(" ").append(suffix.toLowerCase()).append(" = new ").append(newClassName).append("();\n");
+
+        if (settings.isUseBeanUtilsForConversion()) {
+            // 使用BeanUtils
+            String beanUtilsClass = settings.getBeanUtilsClass();
+            String beanUtilsSimpleName = beanUtilsClass.substring(beanUtilsClass.lastIndexOf('.') + 1);
+            sb.append("        ").append(beanUtilsSimpleName).append(".copyProperties(entity, ").append(suffix.toLowerCase()).append(");\n");
+        } else {
+            // 使用原生getter/setter
+            for (PsiField field : fields) {
+                String fieldName = field.getName();
+                String getterName = getGetterNameForField(field);
+                String capitalizedName = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+                sb.append("        ").append(suffix.toLowerCase()).append(".set").append(capitalizedName).append("(entity.").append(getterName).append("());\n");
+            }
+        }
+
+        sb.append("        return ").append(suffix.toLowerCase()).append(";\n");
+        sb.append("    }\n\n");
+
+        // 3. 生成getter和setter方法
+        for (PsiField field : fields) {
+            String fieldType = getSimpleTypeName(field.getType().getCanonicalText());
+            String fieldName = field.getName();
+            String capitalizedName = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+
+            // Getter - 注意：boolean使用isXxx()，Boolean使用getXxx()
+            String getterName = getGetterNameForField(field);
+            String getterMethodName = getterName.startsWith("is") ? getterName : "get" + capitalizedName;
+            sb.append("    public ").append(fieldType).append(" ").append(getterMethodName).append("() {\n");
+            sb.append("        return ").append(fieldName).append(";\n");
+            sb.append("    }\n\n");
+
+            // Setter
+            sb.append("    public void set").append(capitalizedName).append("(").append(fieldType).append(" ").append(fieldName).append(") {\n");
+            sb.append("        this.").append(fieldName).append(" = ").append(fieldName).append(";\n");
+            sb.append("    }\n\n");
+        }
+
+        // 4. 生成JSON格式的toString方法
+        sb.append("    @Override\n");
+        sb.append("    public String toString() {\n");
+        sb.append("        return \"{\" +\n");
+
+        for (int i = 0; i < fields.size(); i++) {
+            PsiField field = fields.get(i);
+            String fieldName = field.getName();
+            sb.append("                \"\\\"").append(fieldName).append("\\\":\" + ");
+
+            // 判断字段类型，字符串类型需要加引号
+            String fieldType = field.getType().getCanonicalText();
+            if (fieldType.equals("java.lang.String") || fieldType.equals("String")) {
+                sb.append("\"\\\"\" + ").append(fieldName).append(" + \"\\\"\"");
+            } else {
+                sb.append(fieldName);
+            }
+
+            if (i < fields.size() - 1) {
+                sb.append(" +\n");
+                sb.append("                \", \" +\n");
+            } else {
+                sb.append(" +\n");
+            }
+        }
+
+        sb.append("                \"}\";\n");
+        sb.append("    }\n");
+
+        sb.append("}\n");
+
+        return sb.toString();
+    }
+
+    /**
+     * 获取字段的getter方法名
+     * 注意：boolean（基本类型）使用isXxx()，Boolean（包装类型）使用getXxx()
+     */
+    private static String getGetterNameForField(PsiField field) {
+        String fieldName = field.getName();
+        String fieldType = field.getType().getCanonicalText();
+
+        // 只有基本类型boolean才使用isXxx()，包装类型Boolean使用getXxx()
+        if ("boolean".equals(fieldType)) {
+            // 如果字段名已经以is开头，直接返回字段名
+            if (fieldName.startsWith("is") && fieldName.length() > 2 && Character.isUpperCase(fieldName.charAt(2))) {
+                return fieldName;
+            }
+            // 否则返回isXxx
+            return "is" + fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+        }
+
+        // 其他类型（包括Boolean包装类型）返回getXxx
+        return "get" + fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+    }
+
+    /**
+     * 获取简单类型名称（去除包名）
+     */
+    private static String getSimpleTypeName(String fullTypeName) {
+        if (fullTypeName == null || fullTypeName.isEmpty()) {
+            return fullTypeName;
+        }
+
+        // 处理泛型类型
+        if (fullTypeName.contains("<")) {
+            int genericStart = fullTypeName.indexOf("<");
+            int genericEnd = fullTypeName.lastIndexOf(">");
+
+            String baseType = fullTypeName.substring(0, genericStart);
+            String genericPart = fullTypeName.substring(genericStart + 1, genericEnd);
+
+            // 递归处理泛型参数
+            String[] genericTypes = genericPart.split(",");
+            StringBuilder simplifiedGeneric = new StringBuilder();
+            for (int i = 0; i < genericTypes.length; i++) {
+                if (i > 0) {
+                    simplifiedGeneric.append(", ");
+                }
+                simplifiedGeneric.append(getSimpleTypeName(genericTypes[i].trim()));
+            }
+
+            return getSimpleClassName(baseType) + "<" + simplifiedGeneric.toString() + ">";
+        }
+
+        // 处理数组类型
+        if (fullTypeName.endsWith("[]")) {
+            String baseType = fullTypeName.substring(0, fullTypeName.length() - 2);
+            return getSimpleTypeName(baseType) + "[]";
+        }
+
+        return getSimpleClassName(fullTypeName);
+    }
+
+    /**
+     * 获取简单类名（去除包名）
+     */
+    private static String getSimpleClassName(String fullClassName) {
+        if (fullClassName == null || !fullClassName.contains(".")) {
+            return fullClassName;
+        }
+        return fullClassName.substring(fullClassName.lastIndexOf(".") + 1);
+    }
+
+    /**
+     * 从类型字符串中收集需要导入的包
+     */
+    private static void collectImportsFromType(String typeStr, Set<String> imports, String currentPackage) {
+        // 移除泛型参数
+        String baseType = typeStr;
+        if (typeStr.contains("<")) {
+            baseType = typeStr.substring(0, typeStr.indexOf("<"));
+            // 处理泛型参数
+            String genericPart = typeStr.substring(typeStr.indexOf("<") + 1, typeStr.lastIndexOf(">"));
+            String[] genericTypes = genericPart.split(",");
+            for (String genericType : genericTypes) {
+                collectImportsFromType(genericType.trim(), imports, currentPackage);
+            }
+        }
+
+        // 移除数组标记
+        baseType = baseType.replace("[]", "").trim();
+
+        // 跳过基本类型和java.lang包中的类
+        if (isPrimitiveOrJavaLang(baseType)) {
+            return;
+        }
+
+        // 如果包含包名，直接添加
+        if (baseType.contains(".")) {
+            // 不导入当前包的类
+            if (!baseType.startsWith(currentPackage + ".")) {
+                imports.add(baseType);
+            }
+        }
+    }
+
+    /**
+     * 判断是否是基本类型或java.lang包中的类
+     */
+    private static boolean isPrimitiveOrJavaLang(String type) {
+        return type.equals("byte") || type.equals("short") || type.equals("int") ||
+               type.equals("long") || type.equals("float") || type.equals("double") ||
+               type.equals("boolean") || type.equals("char") || type.equals("void") ||
+               type.equals("String") || type.equals("Object") || type.equals("Integer") ||
+               type.equals("Long") || type.equals("Double") || type.equals("Float") ||
+               type.equals("Boolean") || type.equals("Character") || type.equals("Byte") ||
+               type.equals("Short");
+    }
+}
@@ -5,6 +5,7 @@ import com.intellij.DynamicBundle;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.PropertyKey;
 
+import java.text.MessageFormat;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
@@ -33,9 +34,9 @@ public class I18nUtils extends DynamicBundle {
             ResourceBundle bundle = ResourceBundle.getBundle(BUNDLE_NAME, currentLocale);
             String message = bundle.getString(key);
 
-            // 如果有参数，进行格式化
+            // 如果有参数，进行格式化（资源文件使用 {0} 形式的占位符）
             if (params.length > 0) {
-                return String.format(message, params);
+                return MessageFormat.format(message, params);
             }
             return message;
         } catch (Exception e) {
@@ -0,0 +1,122 @@
+package com.glowxq.plugs.utils;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiMethod;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 类的访问器索引
+ * 预先计算每个字段期望的getter/setter名称，方法分类只需一次哈希查找，
+ * 一次生成过程中构建一次并在各个辅助方法间复用
+ *
+ * @author glowxq
+ */
+public final class JavaBeanAccessorIndex {
+
+    /**
+     * 方法名对应的访问器类型
+     */
+    private enum Kind {
+        GETTER,
+        SETTER
+    }
+
+    private final Map<String, Kind> accessorKinds;
+
+    private JavaBeanAccessorIndex(Map<String, Kind> accessorKinds) {
+        this.accessorKinds = accessorKinds;
+    }
+
+    /**
+     * 为字段构建索引
+     */
+    @NotNull
+    public static JavaBeanAccessorIndex of(@NotNull List<PsiField> fields) {
+        Map<String, Kind> accessorKinds = new HashMap<>(fields.size() * 4);
+        for (PsiField field : fields) {
+            accessorKinds.putIfAbsent(JavaBeanUtils.getGetterName(field), Kind.GETTER);
+            accessorKinds.putIfAbsent(JavaBeanUtils.getSetterName(field), Kind.SETTER);
+        }
+        return new JavaBeanAccessorIndex(accessorKinds);
+    }
+
+    /**
+     * 检查方法是否为JavaBean方法（getter/setter/toString），同时检查方法名和方法形态
+     */
+    public boolean isJavaBeanMethod(@NotNull PsiMethod method) {
+        if (JavaBeanUtils.isToStringMethod(method)) {
+            return true;
+        }
+
+        Kind kind = accessorKinds.get(method.getName());
+        if (kind == Kind.GETTER) {
+            return JavaBeanUtils.isGetterMethod(method);
+        }
+        if (kind == Kind.SETTER) {
+            return JavaBeanUtils.isSetterMethod(method);
+        }
+        return false;
+    }
+
+    /**
+     * 获取类中所有的JavaBean方法（getter/setter/toString）
+     * 与业务方法使用同一个判断，与访问器同名但形态不同的重载方法（例如getName(String)）属于业务方法，不会被删除
+     */
+    @NotNull
+    public List<PsiMethod> getAllJavaBeanMethods(@NotNull PsiClass psiClass) {
+        List<PsiMethod> javaBeanMethods = new ArrayList<>();
+        for (PsiMethod method : psiClass.getMethods()) {
+            if (isJavaBeanMethod(method)) {
+                javaBeanMethods.add(method);
+            }
+        }
+        return javaBeanMethods;
+    }
+
+    /**
+     * 获取类中所有的业务方法（非构造方法、非JavaBean方法）
+     */
+    @NotNull
+    public List<PsiMethod> getBusinessMethods(@NotNull PsiClass psiClass) {
+        List<PsiMethod> businessMethods = new ArrayList<>();
+        for (PsiMethod method : psiClass.getMethods()) {
+            if (!method.isConstructor() && !isJavaBeanMethod(method)) {
+                businessMethods.add(method);
+            }
+        }
+        return businessMethods;
+    }
+
+    /**
+     * 找到插入JavaBean方法的最佳位置
+     * 返回应该在其后插入的元素，如果返回null则表示应该插入到类的开始位置
+     */
+    public PsiElement findInsertionPoint(@NotNull PsiClass psiClass) {
+        return findInsertionPoint(psiClass, getBusinessMethods(psiClass));
+    }
+
+    /**
+     * 按已经计算好的业务方法找到插入位置，避免重复分类
+     */
+    public static PsiElement findInsertionPoint(@NotNull PsiClass psiClass, @NotNull List<PsiMethod> businessMethods) {
+        // 如果没有业务方法，在最后一个字段后插入
+        if (businessMethods.isEmpty()) {
+            PsiField[] allFields = psiClass.getFields();
+            if (allFields.length > 0) {
+                return allFields[allFields.length - 1];
+            }
+            // 如果连字段都没有，返回null表示插入到类的开始
+            return null;
+        }
+
+        // 在最后一个业务方法后插入
+        return businessMethods.get(businessMethods.size() - 1);
+    }
+}
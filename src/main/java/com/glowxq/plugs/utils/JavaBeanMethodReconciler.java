@@ -0,0 +1,418 @@
+package com.glowxq.plugs.utils;
+
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementFactory;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiWhiteSpace;
+import com.intellij.psi.javadoc.PsiDocComment;
+import com.intellij.util.IncorrectOperationException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * JavaBean方法对比更新器
+ * 将期望的方法集合与类中已有的方法对比，只新增、替换或删除确实不同的方法，
+ * 已经一致的方法不做任何PSI修改
+ *
+ * @author glowxq
+ */
+public final class JavaBeanMethodReconciler {
+
+    private JavaBeanMethodReconciler() {
+    }
+
+    /**
+     * 对比更新结果
+     */
+    public static final class Result {
+        private int added;
+        private int updated;
+        private int removed;
+        private int unchanged;
+        private final List<PsiElement> changedElements = new ArrayList<>();
+
+        public int getAdded() {
+            return added;
+        }
+
+        public int getUpdated() {
+            return updated;
+        }
+
+        public int getRemoved() {
+            return removed;
+        }
+
+        public int getUnchanged() {
+            return unchanged;
+        }
+
+        /**
+         * 新增或替换后的方法，用于范围格式化
+         */
+        public List<PsiElement> getChangedElements() {
+            return changedElements;
+        }
+
+        public boolean hasChanges() {
+            return added + updated + removed > 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("新增 %d 个，更新 %d 个，删除 %d 个，未变化 %d 个", added, updated, removed, unchanged);
+        }
+    }
+
+    /**
+     * 按期望的方法文本更新类中的方法（需要在写操作中调用）
+     *
+     * @param psiClass       目标类
+     * @param desiredTexts   期望的方法文本，按最终顺序排列
+     * @param managedMethods 由插件管理的已有方法，未出现在期望集合中的会被删除
+     * @param initialAnchor  新方法的初始插入位置，为null时插入到类的开始位置
+     * @return 对比更新结果
+     */
+    @NotNull
+    public static Result reconcile(@NotNull PsiClass psiClass,
+                                   @NotNull List<String> desiredTexts,
+                                   @NotNull List<PsiMethod> managedMethods,
+                                   @Nullable PsiElement initialAnchor) {
+        Result result = new Result();
+        PsiElementFactory factory = JavaPsiFacade.getElementFactory(psiClass.getProject());
+
+        // 期望方法的签名键（方法名/参数个数）
+        Set<String> desiredKeys = new HashSet<>();
+        for (String text : desiredTexts) {
+            desiredKeys.add(keyOf(text));
+        }
+
+        // 类中已有的同签名方法，每个签名只取第一个
+        Map<String, PsiMethod> existingByKey = new HashMap<>();
+        for (PsiMethod method : psiClass.getMethods()) {
+            String key = method.getName() + "/" + method.getParameterList().getParametersCount();
+            if (desiredKeys.contains(key)) {
+                existingByKey.putIfAbsent(key, method);
+            }
+        }
+
+        // 先找出缺失的方法和文本不同的方法，两类文本各解析一次；
+        // 缺失的方法按期望顺序解析在同一个类中，连续缺失的一段可以整段插入
+        List<PsiMethod> existingForText = new ArrayList<>(desiredTexts.size());
+        List<String> missingTexts = new ArrayList<>();
+        List<String> differingTexts = new ArrayList<>();
+        for (String text : desiredTexts) {
+            PsiMethod existing = existingByKey.remove(keyOf(text));
+            existingForText.add(existing);
+            if (existing == null) {
+                missingTexts.add(text);
+            } else if (!normalize(textWithoutDoc(existing)).equals(normalize(text))) {
+                differingTexts.add(text);
+            }
+        }
+        Map<String, PsiMethod> missing = parseMethods(factory, missingTexts, psiClass);
+        Map<String, PsiMethod> parsed = parseMethods(factory, differingTexts, psiClass);
+
+        Set<PsiMethod> matched = new HashSet<>();
+        List<PsiMethod> pending = new ArrayList<>();
+        PsiElement anchor = initialAnchor;
+        for (int i = 0; i < desiredTexts.size(); i++) {
+            String text = desiredTexts.get(i);
+            PsiMethod existing = existingForText.get(i);
+            if (existing == null) {
+                // 缺失的方法先收集，遇到已有方法或结束时插入到上一个期望方法之后，保持字段顺序
+                pending.add(missing.get(text));
+                continue;
+            }
+            anchor = insertPending(psiClass, pending, anchor, result);
+
+            matched.add(existing);
+            PsiMethod desired = parsed.get(text);
+            if (desired == null) {
+                result.unchanged++;
+                anchor = existing;
+                continue;
+            }
+
+            // 文本不同时再按语义比较（例如类型使用了简单名而不是全限定名）
+            if (isEquivalent(existing, desired)) {
+                result.unchanged++;
+                anchor = existing;
+            } else {
+                anchor = existing.replace(desired);
+                result.changedElements.add(anchor);
+                result.updated++;
+            }
+        }
+        insertPending(psiClass, pending, anchor, result);
+
+        // 删除不再需要的方法
+        for (PsiMethod method : managedMethods) {
+            if (!matched.contains(method) && method.isValid()) {
+                method.delete();
+                result.removed++;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 把收集的一段连续缺失方法插入到anchor之后并清空pending
+     * 插入的方法之间的空白也加入格式化范围，由格式化补齐方法间的空行
+     *
+     * @return 新的插入位置（最后插入的方法），没有待插入的方法时返回anchor
+     */
+    @Nullable
+    private static PsiElement insertPending(@NotNull PsiClass psiClass, @NotNull List<PsiMethod> pending,
+                                            @Nullable PsiElement anchor, @NotNull Result result) {
+        if (pending.isEmpty()) {
+            return anchor;
+        }
+        List<PsiElement> inserted = JavaBeanUtils.insertMembersAfter(psiClass, pending, anchor);
+        for (int i = 0; i < inserted.size(); i++) {
+            PsiElement gap = inserted.get(i).getPrevSibling();
+            if (i > 0 && gap instanceof PsiWhiteSpace) {
+                result.changedElements.add(gap);
+            }
+            result.changedElements.add(inserted.get(i));
+        }
+        result.added += inserted.size();
+        pending.clear();
+        return inserted.isEmpty() ? anchor : inserted.get(inserted.size() - 1);
+    }
+
+    /**
+     * 只对比不修改，统计按期望方法更新时会新增、替换和删除的方法数（需要在读操作中调用）
+     *
+     * @param psiClass       目标类
+     * @param desiredTexts   期望的方法文本
+     * @param managedMethods 由插件管理的已有方法
+     * @return 对比结果
+     */
+    @NotNull
+    public static Result diff(@NotNull PsiClass psiClass,
+                              @NotNull List<String> desiredTexts,
+                              @NotNull List<PsiMethod> managedMethods) {
+        Result result = new Result();
+        PsiElementFactory factory = JavaPsiFacade.getElementFactory(psiClass.getProject());
+
+        Map<String, PsiMethod> existingByKey = new HashMap<>();
+        for (PsiMethod method : psiClass.getMethods()) {
+            existingByKey.putIfAbsent(method.getName() + "/" + method.getParameterList().getParametersCount(), method);
+        }
+
+        Set<PsiMethod> matched = new HashSet<>();
+        Map<String, PsiMethod> differing = new LinkedHashMap<>();
+        for (String text : desiredTexts) {
+            PsiMethod existing = existingByKey.remove(keyOf(text));
+            if (existing == null) {
+                result.added++;
+                continue;
+            }
+
+            matched.add(existing);
+            if (normalize(textWithoutDoc(existing)).equals(normalize(text))) {
+                result.unchanged++;
+            } else {
+                differing.put(text, existing);
+            }
+        }
+
+        // 文本不同的方法一次解析后再按语义比较
+        Map<String, PsiMethod> parsed = parseMethods(factory, new ArrayList<>(differing.keySet()), psiClass);
+        for (Map.Entry<String, PsiMethod> entry : differing.entrySet()) {
+            if (isEquivalent(entry.getValue(), parsed.get(entry.getKey()))) {
+                result.unchanged++;
+            } else {
+                result.updated++;
+            }
+        }
+
+        for (PsiMethod method : managedMethods) {
+            if (!matched.contains(method)) {
+                result.removed++;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 解析方法文本：所有方法拼成一个类体，只调用一次createClassFromText
+     * 解析出的方法数与文本数不一致时（例如某个文本有语法错误）退回到逐个解析
+     *
+     * @return 方法文本 -> 解析出的方法
+     */
+    @NotNull
+    static Map<String, PsiMethod> parseMethods(@NotNull PsiElementFactory factory, @NotNull List<String> texts,
+                                               @NotNull PsiElement context) {
+        Map<String, PsiMethod> parsed = new HashMap<>();
+        if (texts.isEmpty()) {
+            return parsed;
+        }
+        if (texts.size() > 1) {
+            int length = 0;
+            for (String text : texts) {
+                length += text.length() + 1;
+            }
+            StringBuilder body = new StringBuilder(length);
+            for (String text : texts) {
+                body.append(text).append('\n');
+            }
+            try {
+                PsiMethod[] methods = factory.createClassFromText(body.toString(), context).getMethods();
+                if (methods.length == texts.size()) {
+                    for (int i = 0; i < methods.length; i++) {
+                        parsed.put(texts.get(i), methods[i]);
+                    }
+                    return parsed;
+                }
+            } catch (IncorrectOperationException e) {
+                parsed.clear();
+            }
+        }
+        for (String text : texts) {
+            parsed.put(text, factory.createMethodFromText(text, context));
+        }
+        return parsed;
+    }
+
+    /**
+     * 从方法文本中解析签名键（方法名/参数个数）
+     */
+    @NotNull
+    static String keyOf(@NotNull String methodText) {
+        int open = methodText.indexOf('(');
+        if (open < 0) {
+            return methodText;
+        }
+
+        int nameEnd = open;
+        while (nameEnd > 0 && Character.isWhitespace(methodText.charAt(nameEnd - 1))) {
+            nameEnd--;
+        }
+        int nameStart = nameEnd;
+        while (nameStart > 0 && Character.isJavaIdentifierPart(methodText.charAt(nameStart - 1))) {
+            nameStart--;
+        }
+
+        // 统计顶层逗号，泛型参数中的逗号不计入
+        int depth = 0;
+        int commas = 0;
+        boolean hasParameter = false;
+        for (int i = open + 1; i < methodText.length(); i++) {
+            char c = methodText.charAt(i);
+            if (c == ')' && depth == 0) {
+                break;
+            } else if (c == '<') {
+                depth++;
+            } else if (c == '>') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                commas++;
+            } else if (!Character.isWhitespace(c)) {
+                hasParameter = true;
+            }
+        }
+
+        int parameterCount = hasParameter ? commas + 1 : 0;
+        return methodText.substring(nameStart, nameEnd) + "/" + parameterCount;
+    }
+
+    /**
+     * 压缩空白：只在两个标识符字符之间保留一个空格，字符串和字符字面量保持原样
+     */
+    @NotNull
+    static String normalize(@NotNull String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        // 当前所在字面量的引号，0表示不在字面量中；'"'这样的字符字面量不能当作字符串的开始
+        char quote = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                sb.append(c);
+                if (c == '\\' && i + 1 < text.length()) {
+                    sb.append(text.charAt(++i));
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (c == '"' || c == '\'') {
+                quote = c;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace && sb.length() > 0
+                    && Character.isJavaIdentifierPart(sb.charAt(sb.length() - 1))
+                    && Character.isJavaIdentifierPart(c)) {
+                sb.append(' ');
+            }
+            pendingSpace = false;
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 方法文本，不包括文档注释
+     */
+    private static String textWithoutDoc(PsiMethod method) {
+        String text = method.getText();
+        PsiDocComment docComment = method.getDocComment();
+        if (docComment == null) {
+            return text;
+        }
+        return text.substring(docComment.getStartOffsetInParent() + docComment.getTextLength());
+    }
+
+    /**
+     * 按修饰符、返回类型、参数和方法体比较两个方法
+     */
+    private static boolean isEquivalent(PsiMethod existing, PsiMethod desired) {
+        if (!normalize(existing.getModifierList().getText()).equals(normalize(desired.getModifierList().getText()))) {
+            return false;
+        }
+        if (!Objects.equals(existing.getReturnType(), desired.getReturnType())) {
+            return false;
+        }
+
+        PsiParameter[] existingParameters = existing.getParameterList().getParameters();
+        PsiParameter[] desiredParameters = desired.getParameterList().getParameters();
+        if (existingParameters.length != desiredParameters.length) {
+            return false;
+        }
+        for (int i = 0; i < existingParameters.length; i++) {
+            PsiType existingType = existingParameters[i].getType();
+            if (!existingType.equals(desiredParameters[i].getType())
+                    || !Objects.equals(existingParameters[i].getName(), desiredParameters[i].getName())) {
+                return false;
+            }
+        }
+
+        PsiCodeBlock existingBody = existing.getBody();
+        PsiCodeBlock desiredBody = desired.getBody();
+        if (existingBody == null || desiredBody == null) {
+            return existingBody == desiredBody;
+        }
+        return normalize(existingBody.getText()).equals(normalize(desiredBody.getText()));
+    }
+}
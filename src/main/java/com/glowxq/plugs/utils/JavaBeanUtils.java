@@ -1,8 +1,10 @@
 package com.glowxq.plugs.utils;
 
 import com.glowxq.plugs.settings.OneClickSettings;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.*;
-import com.intellij.psi.codeStyle.CodeStyleManager;
 import com.intellij.psi.util.PsiUtil;
 import com.intellij.openapi.project.Project;
 
@@ -15,6 +17,8 @@ import java.util.stream.Collectors;
  */
 public class JavaBeanUtils {
 
+    private static final Logger LOG = Logger.getInstance(JavaBeanUtils.class);
+
     /**
      * 获取类中的所有字段（排除静态和final字段）
      */
@@ -172,29 +176,26 @@ public class JavaBeanUtils {
     }
 
     /**
-     * 重新排列类中字段的物理位置（包括注解）
-     * 仅对业务类生效，按照 static final -> static -> final -> 实例字段 的顺序
+     * 类的字段是否需要重新排列（仅对启用字段排序的业务类，需要在读操作中调用）
      */
-    public static void rearrangeFieldsPhysically(PsiClass psiClass) {
+    public static boolean needsFieldRearrangement(PsiClass psiClass) {
         OneClickSettings settings = OneClickSettings.getInstance();
-
-        ClassTypeDetector.ClassType classType = ClassTypeDetector.detectClassType(psiClass);
-
-        // 只有业务类才启用字段排序
-        if (!settings.isEnableFieldSorting() || classType != ClassTypeDetector.ClassType.BUSINESS_CLASS) {
-            System.out.println("字段排序未启用或不是业务类，跳过排序。启用状态: " + settings.isEnableFieldSorting() + ", 类类型: " + classType);
-            return;
+        if (!settings.isEnableFieldSorting()
+                || ClassTypeDetector.detectClassType(psiClass) != ClassTypeDetector.ClassType.BUSINESS_CLASS) {
+            return false;
         }
 
-        // 获取所有字段并按类型分组
         List<PsiField> allFields = Arrays.asList(psiClass.getFields());
         if (allFields.size() <= 1) {
-            System.out.println("字段数量 <= 1，无需排序");
-            return; // 没有需要排序的字段
+            return false;
         }
+        return !allFields.equals(computeFieldOrder(allFields, psiClass));
+    }
 
-        System.out.println("开始字段排序，共 " + allFields.size() + " 个字段");
-
+    /**
+     * 计算字段的目标顺序：static final -> static -> final -> 排序后的实例字段
+     */
+    private static List<PsiField> computeFieldOrder(List<PsiField> allFields, PsiClass psiClass) {
         // 按字段类型分组
         List<PsiField> staticFinalFields = new ArrayList<>();  // static final 字段
         List<PsiField> staticFields = new ArrayList<>();       // static 字段
@@ -223,6 +224,53 @@ public class JavaBeanUtils {
         finalOrder.addAll(finalFields);
         finalOrder.addAll(sortedInstanceFields);
 
+        return finalOrder;
+    }
+
+    /**
+     * 重新排列类中字段的物理位置（包括注解）
+     * 仅对业务类生效，按照 static final -> static -> final -> 实例字段 的顺序
+     * 字段连续排列时一次性替换整个字段块，否则逐个删除并重建字段
+     *
+     * @return 重新排列后的类（文本替换后原PsiClass可能失效，调用方应使用返回值）
+     */
+    public static PsiClass rearrangeFieldsPhysically(PsiClass psiClass) {
+        ReformatScope reformatScope = ReformatScope.forClass(psiClass);
+        PsiClass rearranged = rearrangeFieldsPhysically(psiClass, reformatScope);
+        try {
+            reformatScope.reformat(rearranged);
+        } catch (Exception e) {
+            LOG.warn("代码格式化失败", e);
+        }
+        return rearranged;
+    }
+
+    /**
+     * 重新排列类中字段的物理位置，移动过的范围记录到reformatScope中，由调用方统一格式化
+     *
+     * @return 重新排列后的类（文本替换后原PsiClass可能失效，调用方应使用返回值）
+     */
+    public static PsiClass rearrangeFieldsPhysically(PsiClass psiClass, ReformatScope reformatScope) {
+        OneClickSettings settings = OneClickSettings.getInstance();
+
+        ClassTypeDetector.ClassType classType = ClassTypeDetector.detectClassType(psiClass);
+
+        // 只有业务类才启用字段排序
+        if (!settings.isEnableFieldSorting() || classType != ClassTypeDetector.ClassType.BUSINESS_CLASS) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("字段排序未启用或不是业务类，跳过排序。启用状态: " + settings.isEnableFieldSorting() + ", 类类型: " + classType);
+            }
+            return psiClass;
+        }
+
+        // 获取所有字段并按类型分组
+        List<PsiField> allFields = Arrays.asList(psiClass.getFields());
+        if (allFields.size() <= 1) {
+            return psiClass; // 没有需要排序的字段
+        }
+
+        List<PsiField> finalOrder = computeFieldOrder(allFields, psiClass);
+
         // 检查是否需要重新排列
         boolean needsRearrangement = false;
         for (int i = 0; i < allFields.size(); i++) {
@@ -233,11 +281,20 @@ public class JavaBeanUtils {
         }
 
         if (!needsRearrangement) {
-            System.out.println("字段顺序已正确，无需重新排列");
-            return; // 字段已经是正确的顺序
+            return psiClass; // 字段已经是正确的顺序
         }
 
-        System.out.println("需要重新排列字段");
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("重新排列 " + psiClass.getName() + " 的 " + allFields.size() + " 个字段");
+        }
+        OneClickMetrics.add(OneClickMetrics.Counter.FIELDS_REARRANGED, allFields.size());
+
+        // 字段连续排列时，一次文档修改完成重排
+        SmartPsiElementPointer<PsiClass> classPointer = SmartPointerManager.createPointer(psiClass);
+        if (replaceFieldBlock(psiClass, allFields, finalOrder, reformatScope)) {
+            PsiClass rearranged = classPointer.getElement();
+            return rearranged != null ? rearranged : psiClass;
+        }
 
         // 找到一个稳定的锚点 - 使用类的第一个方法或右大括号
         PsiElement anchor = null;
@@ -245,24 +302,20 @@ public class JavaBeanUtils {
         if (methods.length > 0) {
             // 如果有方法，在第一个方法之前插入
             anchor = methods[0];
-            System.out.println("使用第一个方法作为锚点: " + methods[0].getName());
         } else {
             // 如果没有方法，在右大括号之前插入
             anchor = psiClass.getRBrace();
-            System.out.println("使用右大括号作为锚点");
         }
 
         if (anchor == null) {
-            System.err.println("无法找到插入锚点");
-            return;
+            LOG.warn("无法找到字段插入锚点: " + psiClass.getName());
+            return psiClass;
         }
 
         // 收集字段的完整文本（包括注释和注解）
         Map<PsiField, String> fieldTexts = new LinkedHashMap<>();
         for (PsiField field : finalOrder) {
-            String fullText = collectFieldWithComments(field);
-            fieldTexts.put(field, fullText);
-            System.out.println("收集字段: " + field.getName() + " -> " + fullText.substring(0, Math.min(50, fullText.length())));
+            fieldTexts.put(field, collectFieldWithComments(field));
         }
 
         // 删除所有字段及其注释
@@ -291,25 +344,119 @@ public class JavaBeanUtils {
                 PsiField newField = factory.createFieldFromText(fullText, psiClass);
 
                 // 在anchor之前插入
-                psiClass.addBefore(newField, anchor);
+                reformatScope.add(psiClass.addBefore(newField, anchor));
 
                 successCount++;
-                System.out.println("字段创建成功: " + newField.getName());
             } catch (Exception e) {
                 failCount++;
-                System.err.println("字段创建失败: " + e.getMessage());
-                e.printStackTrace();
+                LOG.warn("字段创建失败", e);
             }
         }
 
-        // 格式化代码
-        try {
-            CodeStyleManager.getInstance(psiClass.getProject()).reformat(psiClass);
-        } catch (Exception e) {
-            System.err.println("代码格式化失败: " + e.getMessage());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("字段重新排列完成！成功: " + successCount + ", 失败: " + failCount);
+        }
+        return psiClass;
+    }
+
+    /**
+     * 字段及其前置注释在类中连续排列时，按新顺序拼接出字段块文本，
+     * 用一次文档替换代替逐个删除和重建，替换后的范围记录到reformatScope中
+     *
+     * @return 是否已完成替换，返回false时需要使用PSI方式重排
+     */
+    static boolean replaceFieldBlock(PsiClass psiClass, List<PsiField> allFields, List<PsiField> finalOrder,
+                                     ReformatScope reformatScope) {
+        PsiFile psiFile = psiClass.getContainingFile();
+        if (psiFile == null) {
+            return false;
+        }
+        Project project = psiClass.getProject();
+        PsiDocumentManager documentManager = PsiDocumentManager.getInstance(project);
+        Document document = documentManager.getDocument(psiFile);
+        if (document == null) {
+            return false;
+        }
+        // 先完成之前PSI修改留下的格式化操作，保证文档与PSI一致
+        documentManager.doPostponedOperationsAndUnblockDocument(document);
+        if (!documentManager.isCommitted(document)) {
+            return false;
         }
 
-        System.out.println("字段重新排列完成！成功: " + successCount + ", 失败: " + failCount);
+        // 收集每个字段的完整文本，同时记录归属于字段的注释
+        Set<PsiElement> ownedComments = new HashSet<>();
+        Map<PsiField, String> fieldTexts = new HashMap<>();
+        for (PsiField field : allFields) {
+            if (!isSingleFieldDeclaration(field)) {
+                return false;
+            }
+            ownedComments.addAll(collectLeadingComments(field));
+            fieldTexts.put(field, collectFieldWithComments(field));
+        }
+
+        // 字段块从第一个字段的前置注释开始，到最后一个字段结束
+        PsiField firstField = allFields.get(0);
+        PsiField lastField = allFields.get(allFields.size() - 1);
+        List<PsiElement> firstComments = collectLeadingComments(firstField);
+        PsiElement blockStart = firstComments.isEmpty() ? firstField : firstComments.get(0);
+
+        // 字段块中只能有字段、空白和归属于字段的注释
+        boolean blankLineBetweenFields = false;
+        for (PsiElement element = blockStart; element != lastField; element = element.getNextSibling()) {
+            if (element == null) {
+                return false;
+            }
+            if (element instanceof PsiWhiteSpace) {
+                String text = element.getText();
+                if (text.indexOf('\n') != text.lastIndexOf('\n')) {
+                    blankLineBetweenFields = true;
+                }
+            } else if (element instanceof PsiComment) {
+                // 与前一个字段同行的尾注释无法随字段移动
+                if (!ownedComments.contains(element) || isTrailingComment(element)) {
+                    return false;
+                }
+            } else if (!fieldTexts.containsKey(element)) {
+                return false;
+            }
+        }
+
+        // 保留原字段块的空行风格，缩进由格式化处理
+        String separator = blankLineBetweenFields ? "\n\n" : "\n";
+        StringBuilder blockText = new StringBuilder();
+        for (PsiField field : finalOrder) {
+            if (blockText.length() > 0) {
+                blockText.append(separator);
+            }
+            blockText.append(fieldTexts.get(field));
+        }
+
+        int startOffset = blockStart.getTextRange().getStartOffset();
+        int endOffset = lastField.getTextRange().getEndOffset();
+        document.replaceString(startOffset, endOffset, blockText);
+        documentManager.commitDocument(document);
+        reformatScope.add(new TextRange(startOffset, startOffset + blockText.length()));
+        return true;
+    }
+
+    /**
+     * 是否为独立声明的字段（排除 int a, b; 这类多变量声明和枚举常量）
+     */
+    private static boolean isSingleFieldDeclaration(PsiField field) {
+        if (field instanceof PsiEnumConstant) {
+            return false;
+        }
+        PsiTypeElement typeElement = field.getTypeElement();
+        return typeElement != null && typeElement.getParent() == field
+                && PsiUtil.isJavaToken(field.getLastChild(), JavaTokenType.SEMICOLON);
+    }
+
+    /**
+     * 注释是否与前一个元素在同一行
+     */
+    private static boolean isTrailingComment(PsiElement comment) {
+        PsiElement prev = comment.getPrevSibling();
+        return !(prev instanceof PsiWhiteSpace) || !prev.getText().contains("\n");
     }
 
     /**
@@ -318,7 +465,21 @@ public class JavaBeanUtils {
     private static String collectFieldWithComments(PsiField field) {
         StringBuilder sb = new StringBuilder();
 
-        // 收集字段前的注释
+        // 添加注释
+        for (PsiElement comment : collectLeadingComments(field)) {
+            sb.append(comment.getText()).append("\n");
+        }
+
+        // 添加字段声明（包括注解）
+        sb.append(field.getText());
+
+        return sb.toString();
+    }
+
+    /**
+     * 收集字段前紧邻的注释（遇到空行停止），按源码顺序返回
+     */
+    private static List<PsiElement> collectLeadingComments(PsiField field) {
         List<PsiElement> comments = new ArrayList<>();
         PsiElement prev = field.getPrevSibling();
 
@@ -336,15 +497,7 @@ public class JavaBeanUtils {
             prev = prev.getPrevSibling();
         }
 
-        // 添加注释
-        for (PsiElement comment : comments) {
-            sb.append(comment.getText()).append("\n");
-        }
-
-        // 添加字段声明（包括注解）
-        sb.append(field.getText());
-
-        return sb.toString();
+        return comments;
     }
 
     /**
@@ -521,6 +674,18 @@ public class JavaBeanUtils {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 是否需要生成JavaBean方法：接口、枚举、注解类型和record不需要生成
+     * 批量生成、内部类处理和一致性检查共用此判断
+     */
+    public static boolean isGeneratable(PsiClass psiClass) {
+        return psiClass != null
+                && !psiClass.isInterface()
+                && !psiClass.isEnum()
+                && !psiClass.isAnnotationType()
+                && !psiClass.isRecord();
+    }
+
     /**
      * 处理内部类的JavaBean方法生成
      */
@@ -538,7 +703,7 @@ public class JavaBeanUtils {
 
         PsiClass[] innerClasses = parentClass.getInnerClasses();
         for (PsiClass innerClass : innerClasses) {
-            if (innerClass != null && !innerClass.isInterface() && !innerClass.isEnum()) {
+            if (isGeneratable(innerClass)) {
                 // 为内部类生成JavaBean方法
                 generateInnerClassMethods(innerClass, settings, depth);
 
@@ -561,11 +726,11 @@ public class JavaBeanUtils {
             Project project = innerClass.getProject();
             PsiElementFactory factory = JavaPsiFacade.getElementFactory(project);
 
-            // 移除现有的JavaBean方法
-            List<PsiMethod> existingMethods = getAllJavaBeanMethods(innerClass, fields);
-            for (PsiMethod method : existingMethods) {
-                method.delete();
-            }
+            // 访问器索引在本次生成中只构建一次
+            JavaBeanAccessorIndex accessorIndex = JavaBeanAccessorIndex.of(fields);
+
+            // 现有的JavaBean方法，未出现在期望集合中的会被删除
+            List<PsiMethod> existingMethods = accessorIndex.getAllJavaBeanMethods(innerClass);
 
             // 移除现有的分割注释
             if (settings.isGenerateSeparatorComment()) {
@@ -573,54 +738,35 @@ public class JavaBeanUtils {
             }
 
             // 找到插入点
-            PsiElement insertionPoint = findInsertionPoint(innerClass, fields);
-            PsiElement lastInserted = insertionPoint;
+            PsiElement insertionPoint = accessorIndex.findInsertionPoint(innerClass);
 
-            // 添加内部类分割注释
+            // 添加内部类分割注释（已存在则复用）
             if (settings.isGenerateInnerClassSeparator()) {
                 String separatorText = "// Inner Class " + innerClass.getName() + " Methods";
-                PsiComment separatorComment = factory.createCommentFromText(separatorText, innerClass);
-                lastInserted = insertCommentAfter(innerClass, separatorComment, lastInserted);
+                PsiComment existingSeparator = findComment(innerClass, separatorText);
+                if (existingSeparator != null) {
+                    insertionPoint = existingSeparator;
+                } else {
+                    PsiComment separatorComment = factory.createCommentFromText(separatorText, innerClass);
+                    insertionPoint = insertCommentAfter(innerClass, separatorComment, insertionPoint);
+                }
             }
 
-            // 生成getter和setter方法
+            // 期望的getter、setter和toString方法
+            List<String> desiredTexts = new ArrayList<>();
             if (settings.isGenerateGetterSetter()) {
-                for (PsiField field : fields) {
-                    // 生成getter
-                    String getterCode = generateGetterCode(field);
-                    PsiMethod getterMethod = factory.createMethodFromText(getterCode, innerClass);
-                    lastInserted = insertAfter(innerClass, getterMethod, lastInserted);
-
-                    // 生成setter
-                    String setterCode = settings.isGenerateFluentSetters()
-                        ? generateFluentSetterCode(field, innerClass)
-                        : generateSetterCode(field);
-                    PsiMethod setterMethod = factory.createMethodFromText(setterCode, innerClass);
-                    lastInserted = insertAfter(innerClass, setterMethod, lastInserted);
-                }
+                desiredTexts.addAll(generateAccessorCodes(fields, innerClass, settings.isGenerateFluentSetters()));
             }
-
-            // 生成toString方法
             if (settings.isGenerateToString()) {
-                String toStringCode;
-                switch (settings.getToStringStyle()) {
-                    case "simple":
-                        toStringCode = generateSimpleToStringCode(innerClass);
-                        break;
-                    case "apache":
-                        toStringCode = generateApacheToStringCode(innerClass);
-                        break;
-                    default:
-                        toStringCode = generateToStringCode(innerClass);
-                        break;
-                }
-                PsiMethod toStringMethod = factory.createMethodFromText(toStringCode, innerClass);
-                insertAfter(innerClass, toStringMethod, lastInserted);
+                desiredTexts.add(generateToStringCode(innerClass, fields, settings.getToStringStyle()));
             }
 
+            // 对比更新：只修改确实不同的方法
+            JavaBeanMethodReconciler.reconcile(innerClass, desiredTexts, existingMethods, insertionPoint);
+
         } catch (Exception e) {
             // 记录错误但不中断处理
-            System.err.println("Error processing inner class " + innerClass.getName() + ": " + e.getMessage());
+            LOG.warn("Error processing inner class " + innerClass.getName(), e);
         }
     }
 
@@ -660,6 +806,13 @@ public class JavaBeanUtils {
         }
     }
 
+    /**
+     * 生成setter方法名，fluent setter不去掉boolean字段的"is"前缀
+     */
+    public static String getSetterName(PsiField field, boolean fluentSetters) {
+        return fluentSetters ? "set" + capitalize(field.getName()) : getSetterName(field);
+    }
+
     /**
      * 首字母大写
      */
@@ -670,36 +823,33 @@ public class JavaBeanUtils {
         return str.substring(0, 1).toUpperCase() + str.substring(1);
     }
 
+    // 预编译的访问器模板
+    private static final MethodTemplate GETTER_TEMPLATE = MethodTemplate.compile(
+        "public {0} {1}() {\n" +
+        "    return {2};\n" +
+        "}");
+    private static final MethodTemplate SETTER_TEMPLATE = MethodTemplate.compile(
+        "public void {0}({1} {2}) {\n" +
+        "    this.{2} = {2};\n" +
+        "}");
+    private static final MethodTemplate FLUENT_SETTER_TEMPLATE = MethodTemplate.compile(
+        "public {0} {1}({2} {3}) {\n" +
+        "    this.{3} = {3};\n" +
+        "    return this;\n" +
+        "}");
+
     /**
      * 生成getter方法代码
      */
     public static String generateGetterCode(PsiField field) {
-        String getterName = getGetterName(field);
-        String fieldName = field.getName();
-        String returnType = field.getType().getCanonicalText();
-        
-        return String.format(
-            "public %s %s() {\n" +
-            "    return %s;\n" +
-            "}", 
-            returnType, getterName, fieldName
-        );
+        return GETTER_TEMPLATE.render(field.getType().getCanonicalText(), getGetterName(field), field.getName());
     }
 
     /**
      * 生成setter方法代码
      */
     public static String generateSetterCode(PsiField field) {
-        String setterName = getSetterName(field);
-        String fieldName = field.getName();
-        String paramType = field.getType().getCanonicalText();
-
-        return String.format(
-            "public void %s(%s %s) {\n" +
-            "    this.%s = %s;\n" +
-            "}",
-            setterName, paramType, fieldName, fieldName, fieldName
-        );
+        return SETTER_TEMPLATE.render(getSetterName(field), field.getType().getCanonicalText(), field.getName());
     }
 
     /**
@@ -707,26 +857,69 @@ public class JavaBeanUtils {
      */
     public static String generateFluentSetterCode(PsiField field, PsiClass psiClass) {
         String fieldName = field.getName();
-        String fieldType = field.getType().getCanonicalText();
-        String methodName = "set" + capitalize(fieldName);
-        String className = psiClass.getName();
+        return FLUENT_SETTER_TEMPLATE.render(String.valueOf(psiClass.getName()), getSetterName(field, true),
+            field.getType().getCanonicalText(), fieldName);
+    }
+
+    /**
+     * 按字段顺序生成所有getter/setter方法代码（每个字段getter在前、setter在后）
+     * 每个字段的类型文本只计算一次，所有方法共用一个StringBuilder
+     */
+    public static List<String> generateAccessorCodes(List<PsiField> fields, PsiClass psiClass, boolean fluentSetters) {
+        List<String> texts = new ArrayList<>(fields.size() * 2);
+        String className = String.valueOf(psiClass.getName());
+        StringBuilder out = new StringBuilder(256);
+        for (PsiField field : fields) {
+            String fieldName = field.getName();
+            String typeText = field.getType().getCanonicalText();
+
+            out.setLength(0);
+            GETTER_TEMPLATE.appendTo(out, typeText, getGetterName(field), fieldName);
+            texts.add(out.toString());
+
+            out.setLength(0);
+            if (fluentSetters) {
+                FLUENT_SETTER_TEMPLATE.appendTo(out, className, getSetterName(field, true), typeText, fieldName);
+            } else {
+                SETTER_TEMPLATE.appendTo(out, getSetterName(field), typeText, fieldName);
+            }
+            texts.add(out.toString());
+        }
+        return texts;
+    }
 
-        return String.format(
-            "public %s %s(%s %s) {\n" +
-            "    this.%s = %s;\n" +
-            "    return this;\n" +
-            "}",
-            className, methodName, fieldType, fieldName, fieldName, fieldName
-        );
+    /**
+     * 按指定风格生成toString方法代码
+     * @param style json, simple, apache
+     */
+    public static String generateToStringCode(PsiClass psiClass, String style) {
+        return generateToStringCode(psiClass, getInstanceFields(psiClass), style);
+    }
+
+    /**
+     * 按指定风格和已收集的实例字段生成toString方法代码
+     * @param style json, simple, apache
+     */
+    public static String generateToStringCode(PsiClass psiClass, List<PsiField> fields, String style) {
+        switch (style) {
+            case "simple":
+                return generateSimpleToStringCode(psiClass, fields);
+            case "apache":
+                return generateApacheToStringCode(fields);
+            default: // json
+                return generateJsonToStringCode(fields);
+        }
     }
 
     /**
      * 生成JSON格式的toString方法代码
      */
     public static String generateToStringCode(PsiClass psiClass) {
-        List<PsiField> fields = getInstanceFields(psiClass);
+        return generateJsonToStringCode(getInstanceFields(psiClass));
+    }
 
-        StringBuilder sb = new StringBuilder();
+    private static String generateJsonToStringCode(List<PsiField> fields) {
+        StringBuilder sb = new StringBuilder(64 + fields.size() * 48);
         sb.append("@Override\n");
         sb.append("public String toString() {\n");
         sb.append("    return \"{\" +\n");
@@ -762,10 +955,13 @@ public class JavaBeanUtils {
      * 生成简单toString方法代码
      */
     public static String generateSimpleToStringCode(PsiClass psiClass) {
-        List<PsiField> fields = getInstanceFields(psiClass);
+        return generateSimpleToStringCode(psiClass, getInstanceFields(psiClass));
+    }
+
+    private static String generateSimpleToStringCode(PsiClass psiClass, List<PsiField> fields) {
         String className = psiClass.getName();
 
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = new StringBuilder(64 + fields.size() * 40);
         sb.append("@Override\n");
         sb.append("public String toString() {\n");
         sb.append("    return \"").append(className).append("{\" +\n");
@@ -791,9 +987,11 @@ public class JavaBeanUtils {
      * 生成Apache Commons风格toString方法代码
      */
     public static String generateApacheToStringCode(PsiClass psiClass) {
-        List<PsiField> fields = getInstanceFields(psiClass);
+        return generateApacheToStringCode(getInstanceFields(psiClass));
+    }
 
-        StringBuilder sb = new StringBuilder();
+    private static String generateApacheToStringCode(List<PsiField> fields) {
+        StringBuilder sb = new StringBuilder(64 + fields.size() * 40);
         sb.append("@Override\n");
         sb.append("public String toString() {\n");
         sb.append("    return new ToStringBuilder(this)\n");
@@ -843,30 +1041,7 @@ public class JavaBeanUtils {
      * 获取类中所有的JavaBean方法（getter/setter/toString）
      */
     public static List<PsiMethod> getAllJavaBeanMethods(PsiClass psiClass, List<PsiField> fields) {
-        List<PsiMethod> javaBeanMethods = new ArrayList<>();
-
-        for (PsiMethod method : psiClass.getMethods()) {
-            String methodName = method.getName();
-
-            // 检查是否为toString方法
-            if (isToStringMethod(method)) {
-                javaBeanMethods.add(method);
-                continue;
-            }
-
-            // 检查是否为getter或setter方法
-            for (PsiField field : fields) {
-                String getterName = getGetterName(field);
-                String setterName = getSetterName(field);
-
-                if (methodName.equals(getterName) || methodName.equals(setterName)) {
-                    javaBeanMethods.add(method);
-                    break;
-                }
-            }
-        }
-
-        return javaBeanMethods;
+        return JavaBeanAccessorIndex.of(fields).getAllJavaBeanMethods(psiClass);
     }
 
     /**
@@ -884,6 +1059,30 @@ public class JavaBeanUtils {
         return factory.createCommentFromText(generateSeparatorComment(), psiClass);
     }
 
+    /**
+     * 查找类中已有的分割注释
+     */
+    public static PsiComment findSeparatorComment(PsiClass psiClass) {
+        for (PsiElement child : psiClass.getChildren()) {
+            if (child instanceof PsiComment && child.getText().contains("JavaBean Methods")) {
+                return (PsiComment) child;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 查找类中文本完全一致的注释
+     */
+    private static PsiComment findComment(PsiClass psiClass, String commentText) {
+        for (PsiElement child : psiClass.getChildren()) {
+            if (child instanceof PsiComment && commentText.equals(child.getText())) {
+                return (PsiComment) child;
+            }
+        }
+        return null;
+    }
+
     /**
      * 移除现有的分割注释
      */
@@ -929,7 +1128,7 @@ public class JavaBeanUtils {
                 element.delete();
             } catch (Exception e) {
                 // 忽略删除失败的情况，可能元素已经被删除
-                System.out.println("Failed to delete element: " + e.getMessage());
+                LOG.debug("Failed to delete element", e);
             }
         }
     }
@@ -939,49 +1138,14 @@ public class JavaBeanUtils {
      * 业务方法是指除了getter/setter/toString之外的方法
      */
     public static List<PsiMethod> getBusinessMethods(PsiClass psiClass, List<PsiField> fields) {
-        List<PsiMethod> businessMethods = new ArrayList<>();
-
-        for (PsiMethod method : psiClass.getMethods()) {
-            // 跳过构造方法
-            if (method.isConstructor()) {
-                continue;
-            }
-
-            // 跳过JavaBean方法
-            if (isJavaBeanMethod(method, fields)) {
-                continue;
-            }
-
-            businessMethods.add(method);
-        }
-
-        return businessMethods;
+        return JavaBeanAccessorIndex.of(fields).getBusinessMethods(psiClass);
     }
 
     /**
      * 检查方法是否为JavaBean方法（getter/setter/toString）
      */
     public static boolean isJavaBeanMethod(PsiMethod method, List<PsiField> fields) {
-        // 检查是否为toString方法
-        if (isToStringMethod(method)) {
-            return true;
-        }
-
-        // 检查是否为getter或setter方法
-        String methodName = method.getName();
-        for (PsiField field : fields) {
-            String getterName = getGetterName(field);
-            String setterName = getSetterName(field);
-
-            if (methodName.equals(getterName) && isGetterMethod(method)) {
-                return true;
-            }
-            if (methodName.equals(setterName) && isSetterMethod(method)) {
-                return true;
-            }
-        }
-
-        return false;
+        return JavaBeanAccessorIndex.of(fields).isJavaBeanMethod(method);
     }
 
     /**
@@ -989,21 +1153,7 @@ public class JavaBeanUtils {
      * 返回应该在其后插入的元素，如果返回null则表示应该插入到类的开始位置
      */
     public static PsiElement findInsertionPoint(PsiClass psiClass, List<PsiField> fields) {
-        List<PsiMethod> businessMethods = getBusinessMethods(psiClass, fields);
-
-        // 如果没有业务方法，在最后一个字段后插入
-        if (businessMethods.isEmpty()) {
-            PsiField[] allFields = psiClass.getFields();
-            if (allFields.length > 0) {
-                return allFields[allFields.length - 1];
-            }
-            // 如果连字段都没有，返回null表示插入到类的开始
-            return null;
-        }
-
-        // 找到最后一个业务方法
-        PsiMethod lastBusinessMethod = businessMethods.get(businessMethods.size() - 1);
-        return lastBusinessMethod;
+        return JavaBeanAccessorIndex.of(fields).findInsertionPoint(psiClass);
     }
 
     /**
@@ -1026,6 +1176,63 @@ public class JavaBeanUtils {
         return inserted;
     }
 
+    /**
+     * 在指定位置之后批量插入成员，保持members的顺序
+     * members是同一个父元素下连续的兄弟元素时（例如由createClassFromText解析出的方法），
+     * 只调用一次addRangeAfter，整段复制，PSI变更事件只触发一次；否则逐个插入
+     *
+     * @return 插入后的成员，与members一一对应
+     */
+    public static List<PsiElement> insertMembersAfter(PsiClass psiClass, List<? extends PsiElement> members,
+                                                      PsiElement anchor) {
+        List<PsiElement> inserted = new ArrayList<>(members.size());
+        if (members.size() < 2 || !isSiblingRange(members)) {
+            for (PsiElement member : members) {
+                anchor = insertAfter(psiClass, member, anchor);
+                inserted.add(anchor);
+            }
+            return inserted;
+        }
+
+        PsiElement first = members.get(0);
+        PsiElement last = members.get(members.size() - 1);
+        PsiElement firstInserted;
+        if (anchor == null) {
+            PsiElement lBrace = psiClass.getLBrace();
+            firstInserted = lBrace != null ? psiClass.addRangeAfter(first, last, lBrace) : psiClass.addRange(first, last);
+        } else {
+            firstInserted = psiClass.addRangeAfter(first, last, anchor);
+        }
+
+        // 复制的范围中包含成员之间的空白，按顺序取出成员
+        for (PsiElement element = firstInserted; element != null && inserted.size() < members.size();
+             element = element.getNextSibling()) {
+            if (!(element instanceof PsiWhiteSpace)) {
+                inserted.add(element);
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * 元素是否为连续的兄弟元素（中间只有空白）
+     */
+    private static boolean isSiblingRange(List<? extends PsiElement> members) {
+        int index = 0;
+        for (PsiElement element = members.get(0); element != null; element = element.getNextSibling()) {
+            if (element instanceof PsiWhiteSpace) {
+                continue;
+            }
+            if (element != members.get(index)) {
+                return false;
+            }
+            if (++index == members.size()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * 在指定位置之后插入注释，并确保有适当的换行
      */
@@ -1054,7 +1261,7 @@ public class JavaBeanUtils {
                 }
             } catch (Exception e) {
                 // 忽略换行添加失败
-                System.out.println("Failed to add newline before comment: " + e.getMessage());
+                LOG.debug("Failed to add newline before comment", e);
             }
         }
 
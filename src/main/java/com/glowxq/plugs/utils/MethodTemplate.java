@@ -0,0 +1,98 @@
+package com.glowxq.plugs.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 预编译的代码模板
+ * 模板中的 {0}、{1} 等占位符在编译时拆分为固定文本和参数下标，
+ * 填充时按顺序直接追加到StringBuilder，不需要每次重新解析格式串
+ *
+ * @author glowxq
+ */
+public final class MethodTemplate {
+
+    // 固定文本，比参数位置多一个
+    private final String[] literals;
+    // 每个参数位置对应的参数下标
+    private final int[] slots;
+    private final int literalLength;
+
+    private MethodTemplate(String[] literals, int[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * 编译模板，占位符为 {数字}，其他花括号按原样保留
+     */
+    @NotNull
+    public static MethodTemplate compile(@NotNull String template) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < template.length()) {
+            char c = template.charAt(i);
+            int end = c == '{' ? placeholderEnd(template, i) : -1;
+            if (end < 0) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            literals.add(literal.toString());
+            literal.setLength(0);
+            slots.add(Integer.parseInt(template.substring(i + 1, end)));
+            i = end + 1;
+        }
+        literals.add(literal.toString());
+
+        int[] slotArray = new int[slots.size()];
+        for (int j = 0; j < slotArray.length; j++) {
+            slotArray[j] = slots.get(j);
+        }
+        return new MethodTemplate(literals.toArray(new String[0]), slotArray);
+    }
+
+    /**
+     * 占位符的结束位置（右花括号），不是占位符时返回-1
+     */
+    private static int placeholderEnd(String template, int start) {
+        int i = start + 1;
+        while (i < template.length() && Character.isDigit(template.charAt(i))) {
+            i++;
+        }
+        return i > start + 1 && i < template.length() && template.charAt(i) == '}' ? i : -1;
+    }
+
+    /**
+     * 填充模板并追加到out
+     */
+    public void appendTo(@NotNull StringBuilder out, @NotNull String... values) {
+        out.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(values[slots[i]]).append(literals[i + 1]);
+        }
+    }
+
+    /**
+     * 填充模板
+     */
+    @NotNull
+    public String render(@NotNull String... values) {
+        int length = literalLength;
+        for (int slot : slots) {
+            length += values[slot].length();
+        }
+        StringBuilder out = new StringBuilder(length);
+        appendTo(out, values);
+        return out.toString();
+    }
+}
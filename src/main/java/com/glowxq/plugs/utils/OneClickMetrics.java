@@ -0,0 +1,186 @@
+package com.glowxq.plugs.utils;
+
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 插件的性能埋点
+ * 按阶段统计耗时和调用次数，并提供计数器；通过 -Doneclick.metrics=true 开启。
+ * ENABLED 是静态常量，关闭时JIT会消除埋点代码，几乎没有开销
+ *
+ * 使用方式：
+ * <pre>
+ * long start = OneClickMetrics.start();
+ * try {
+ *     ...
+ * } finally {
+ *     OneClickMetrics.stop(OneClickMetrics.Phase.PLAN, start);
+ * }
+ * </pre>
+ *
+ * @author glowxq
+ */
+public final class OneClickMetrics {
+
+    /**
+     * 是否开启埋点
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("oneclick.metrics");
+
+    private static final Logger LOG = Logger.getInstance(OneClickMetrics.class);
+
+    /**
+     * 计时阶段
+     */
+    public enum Phase {
+        /** 类类型检测 */
+        DETECT,
+        /** 生成计划计算 */
+        PLAN,
+        /** PSI修改（字段重排、方法增删改） */
+        PSI_MUTATE,
+        /** 代码格式化 */
+        REFORMAT
+    }
+
+    /**
+     * 计数器
+     */
+    public enum Counter {
+        CLASSES_GENERATED,
+        FIELDS_REARRANGED,
+        METHODS_ADDED,
+        METHODS_UPDATED,
+        METHODS_REMOVED,
+        RANGES_REFORMATTED
+    }
+
+    private static final LongAdder[] PHASE_NANOS = newAdders(Phase.values().length);
+    private static final LongAdder[] PHASE_CALLS = newAdders(Phase.values().length);
+    private static final LongAdder[] COUNTERS = newAdders(Counter.values().length);
+
+    private OneClickMetrics() {
+    }
+
+    /**
+     * 开始计时，返回传给 {@link #stop(Phase, long)} 的起始时间
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * 结束计时并累计到阶段
+     */
+    public static void stop(@NotNull Phase phase, long start) {
+        if (!ENABLED) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        PHASE_NANOS[phase.ordinal()].add(elapsed);
+        PHASE_CALLS[phase.ordinal()].increment();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(phase + " took " + elapsed / 1000 + "us");
+        }
+    }
+
+    public static void increment(@NotNull Counter counter) {
+        add(counter, 1);
+    }
+
+    public static void add(@NotNull Counter counter, long delta) {
+        if (ENABLED && delta != 0) {
+            COUNTERS[counter.ordinal()].add(delta);
+        }
+    }
+
+    /**
+     * 当前累计值的快照
+     */
+    @NotNull
+    public static Snapshot snapshot() {
+        Map<Phase, long[]> phases = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new long[]{PHASE_CALLS[phase.ordinal()].sum(), PHASE_NANOS[phase.ordinal()].sum()});
+        }
+        Map<Counter, Long> counters = new EnumMap<>(Counter.class);
+        for (Counter counter : Counter.values()) {
+            counters.put(counter, COUNTERS[counter.ordinal()].sum());
+        }
+        return new Snapshot(phases, counters);
+    }
+
+    /**
+     * 清空所有累计值
+     */
+    public static void reset() {
+        for (LongAdder adder : PHASE_NANOS) {
+            adder.reset();
+        }
+        for (LongAdder adder : PHASE_CALLS) {
+            adder.reset();
+        }
+        for (LongAdder adder : COUNTERS) {
+            adder.reset();
+        }
+    }
+
+    /**
+     * 以debug级别输出当前累计值
+     */
+    public static void logSummary() {
+        if (ENABLED && LOG.isDebugEnabled()) {
+            LOG.debug(snapshot().toString());
+        }
+    }
+
+    private static LongAdder[] newAdders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * 累计值快照
+     */
+    public static final class Snapshot {
+        private final Map<Phase, long[]> phases;
+        private final Map<Counter, Long> counters;
+
+        private Snapshot(Map<Phase, long[]> phases, Map<Counter, Long> counters) {
+            this.phases = phases;
+            this.counters = counters;
+        }
+
+        public long getCalls(@NotNull Phase phase) {
+            return phases.get(phase)[0];
+        }
+
+        public long getTotalNanos(@NotNull Phase phase) {
+            return phases.get(phase)[1];
+        }
+
+        public long getCount(@NotNull Counter counter) {
+            return counters.get(counter);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("OneClick metrics:");
+            for (Phase phase : Phase.values()) {
+                sb.append(' ').append(phase).append('=').append(getCalls(phase))
+                        .append("x/").append(getTotalNanos(phase) / 1_000_000).append("ms");
+            }
+            for (Counter counter : Counter.values()) {
+                sb.append(' ').append(counter).append('=').append(getCount(counter));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.glowxq.plugs.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * 包名规则匹配器
+ * 将逗号分隔的包名规则预编译为Aho-Corasick自动机，一次扫描包名即可判断是否包含任一规则，
+ * 匹配不区分大小写，匹配过程中不分配对象
+ *
+ * @author glowxq
+ */
+public final class PackagePatternMatcher {
+
+    private static final int ROOT = 0;
+
+    // 节点的出边，按字符排序，二分查找
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    // 失败指针
+    private final int[] fail;
+    // 该节点（或其失败链上的节点）是否为某个规则的结尾
+    private final boolean[] terminal;
+
+    private PackagePatternMatcher(char[][] edgeChars, int[][] edgeTargets, int[] fail, boolean[] terminal) {
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.terminal = terminal;
+    }
+
+    /**
+     * 编译逗号分隔的包名规则，空白规则会被忽略
+     */
+    @NotNull
+    public static PackagePatternMatcher compile(@NotNull String patterns) {
+        return compile(Arrays.asList(patterns.split(",")));
+    }
+
+    /**
+     * 编译包名规则集合，空白规则会被忽略
+     */
+    @NotNull
+    public static PackagePatternMatcher compile(@NotNull Iterable<String> patterns) {
+        Builder builder = new Builder();
+        for (String pattern : patterns) {
+            if (pattern != null && !pattern.trim().isEmpty()) {
+                builder.add(pattern.trim().toLowerCase());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 包名中是否包含任一规则（不区分大小写）
+     */
+    public boolean matches(@NotNull CharSequence packageName) {
+        int state = ROOT;
+        for (int i = 0; i < packageName.length(); i++) {
+            char c = Character.toLowerCase(packageName.charAt(i));
+            int next = transition(state, c);
+            while (next < 0 && state != ROOT) {
+                state = fail[state];
+                next = transition(state, c);
+            }
+            state = next < 0 ? ROOT : next;
+            if (terminal[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 是否没有任何规则
+     */
+    public boolean isEmpty() {
+        return edgeChars[ROOT].length == 0;
+    }
+
+    private int transition(int state, char c) {
+        int index = Arrays.binarySearch(edgeChars[state], c);
+        return index >= 0 ? edgeTargets[state][index] : -1;
+    }
+
+    /**
+     * 自动机构建器，先构建字典树再按广度优先计算失败指针
+     */
+    private static final class Builder {
+        private final List<StringBuilder> nodeChars = new ArrayList<>();
+        private final List<List<Integer>> nodeTargets = new ArrayList<>();
+        private final List<Boolean> nodeTerminal = new ArrayList<>();
+
+        private Builder() {
+            newNode();
+        }
+
+        private int newNode() {
+            nodeChars.add(new StringBuilder());
+            nodeTargets.add(new ArrayList<>());
+            nodeTerminal.add(false);
+            return nodeChars.size() - 1;
+        }
+
+        private int child(int node, char c) {
+            int index = nodeChars.get(node).indexOf(String.valueOf(c));
+            return index >= 0 ? nodeTargets.get(node).get(index) : -1;
+        }
+
+        private void add(String pattern) {
+            int node = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                int next = child(node, c);
+                if (next < 0) {
+                    next = newNode();
+                    nodeChars.get(node).append(c);
+                    nodeTargets.get(node).add(next);
+                }
+                node = next;
+            }
+            nodeTerminal.set(node, true);
+        }
+
+        private PackagePatternMatcher build() {
+            int size = nodeChars.size();
+            char[][] edgeChars = new char[size][];
+            int[][] edgeTargets = new int[size][];
+            for (int node = 0; node < size; node++) {
+                // 出边按字符排序，便于匹配时二分查找
+                String chars = nodeChars.get(node).toString();
+                List<Integer> targets = nodeTargets.get(node);
+                Integer[] order = new Integer[chars.length()];
+                for (int i = 0; i < order.length; i++) {
+                    order[i] = i;
+                }
+                Arrays.sort(order, (a, b) -> Character.compare(chars.charAt(a), chars.charAt(b)));
+
+                edgeChars[node] = new char[order.length];
+                edgeTargets[node] = new int[order.length];
+                for (int i = 0; i < order.length; i++) {
+                    edgeChars[node][i] = chars.charAt(order[i]);
+                    edgeTargets[node][i] = targets.get(order[i]);
+                }
+            }
+
+            int[] fail = new int[size];
+            boolean[] terminal = new boolean[size];
+            for (int node = 0; node < size; node++) {
+                terminal[node] = nodeTerminal.get(node);
+            }
+
+            PackagePatternMatcher matcher = new PackagePatternMatcher(edgeChars, edgeTargets, fail, terminal);
+            Queue<Integer> queue = new ArrayDeque<>();
+            for (int target : edgeTargets[ROOT]) {
+                fail[target] = ROOT;
+                queue.add(target);
+            }
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int i = 0; i < edgeChars[node].length; i++) {
+                    char c = edgeChars[node][i];
+                    int target = edgeTargets[node][i];
+
+                    int state = fail[node];
+                    int next = matcher.transition(state, c);
+                    while (next < 0 && state != ROOT) {
+                        state = fail[state];
+                        next = matcher.transition(state, c);
+                    }
+                    fail[target] = next < 0 || next == target ? ROOT : next;
+                    // 失败链上的规则也算匹配
+                    terminal[target] |= terminal[fail[target]];
+                    queue.add(target);
+                }
+            }
+            return matcher;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.glowxq.plugs.utils;
+
+import com.glowxq.plugs.settings.OneClickSettings;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.util.Segment;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiFileRange;
+import com.intellij.psi.codeStyle.CodeStyleManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 一次生成过程中需要格式化的代码范围
+ * 记录插入、替换或移动过的代码范围，生成结束后只格式化这些范围；
+ * 范围使用智能指针保存，后续修改导致的偏移变化会自动修正
+ *
+ * @author glowxq
+ */
+public final class ReformatScope {
+
+    private final PsiFile psiFile;
+    private final SmartPointerManager pointerManager;
+    private final List<SmartPsiFileRange> ranges = new ArrayList<>();
+
+    public ReformatScope(@NotNull PsiFile psiFile) {
+        this.psiFile = psiFile;
+        this.pointerManager = SmartPointerManager.getInstance(psiFile.getProject());
+    }
+
+    /**
+     * 为类所在文件创建格式化范围
+     */
+    @NotNull
+    public static ReformatScope forClass(@NotNull PsiClass psiClass) {
+        return new ReformatScope(psiClass.getContainingFile());
+    }
+
+    /**
+     * 记录元素所在的范围
+     */
+    public void add(PsiElement element) {
+        if (element != null && element.isValid() && element.getContainingFile() == psiFile) {
+            add(element.getTextRange());
+        }
+    }
+
+    /**
+     * 记录文件中的文本范围
+     */
+    public void add(@NotNull TextRange range) {
+        ranges.add(pointerManager.createSmartPsiFileRangePointer(psiFile, range));
+    }
+
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    /**
+     * 格式化记录的范围（需要在写操作中调用）
+     * 没有记录任何范围时不做处理；设置中关闭了范围格式化时，格式化整个类
+     */
+    public void reformat(@NotNull PsiClass psiClass) {
+        if (ranges.isEmpty()) {
+            return;
+        }
+        long start = OneClickMetrics.start();
+        try {
+            doReformat(psiClass);
+        } finally {
+            OneClickMetrics.stop(OneClickMetrics.Phase.REFORMAT, start);
+        }
+    }
+
+    private void doReformat(@NotNull PsiClass psiClass) {
+        if (!OneClickSettings.getInstance().isReformatChangedRangesOnly()) {
+            dispose();
+            if (psiClass.isValid()) {
+                CodeStyleManager.getInstance(psiClass.getProject()).reformat(psiClass);
+            }
+            return;
+        }
+
+        // 先完成PSI修改留下的格式化操作，保证偏移与文档一致
+        PsiDocumentManager documentManager = PsiDocumentManager.getInstance(psiFile.getProject());
+        Document document = documentManager.getDocument(psiFile);
+        if (document != null) {
+            documentManager.doPostponedOperationsAndUnblockDocument(document);
+            documentManager.commitDocument(document);
+        }
+
+        List<TextRange> merged = mergedRanges();
+        dispose();
+        OneClickMetrics.add(OneClickMetrics.Counter.RANGES_REFORMATTED, merged.size());
+        if (!merged.isEmpty()) {
+            CodeStyleManager.getInstance(psiFile.getProject()).reformatText(psiFile, merged);
+        }
+    }
+
+    /**
+     * 合并重叠或相邻的范围，减少格式化次数
+     */
+    @NotNull
+    private List<TextRange> mergedRanges() {
+        List<TextRange> current = new ArrayList<>(ranges.size());
+        for (SmartPsiFileRange pointer : ranges) {
+            Segment segment = pointer.getRange();
+            if (segment != null) {
+                current.add(TextRange.create(segment));
+            }
+        }
+        current.sort(Comparator.comparingInt(TextRange::getStartOffset));
+
+        List<TextRange> merged = new ArrayList<>(current.size());
+        for (TextRange range : current) {
+            int last = merged.size() - 1;
+            if (last >= 0 && merged.get(last).getEndOffset() >= range.getStartOffset()) {
+                merged.set(last, merged.get(last).union(range));
+            } else {
+                merged.add(range);
+            }
+        }
+        return merged;
+    }
+
+    private void dispose() {
+        for (SmartPsiFileRange pointer : ranges) {
+            pointerManager.removePointer(pointer);
+        }
+        ranges.clear();
+    }
+}
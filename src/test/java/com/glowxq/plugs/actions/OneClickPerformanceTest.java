@@ -0,0 +1,190 @@
+package com.glowxq.plugs.actions;
+
+import com.glowxq.plugs.batch.BatchGenerationEngine;
+import com.glowxq.plugs.batch.BatchResult;
+import com.glowxq.plugs.utils.JavaBeanUtils;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.FoldRegion;
+import com.intellij.openapi.editor.FoldingModel;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * 端到端性能测试
+ * 在逐渐增大的生成类上执行智能一键生成、批量生成、字段重排和折叠，超出时间预算时测试失败。
+ * 时间预算依赖机器性能，普通的test任务中跳过，使用 ./gradlew test -Doneclick.performance=true 运行
+ *
+ * @author glowxq
+ */
+public class OneClickPerformanceTest extends LightJavaCodeInsightFixtureTestCase {
+
+    // 开启性能测试的系统属性
+    private static final String PERFORMANCE_PROPERTY = "oneclick.performance";
+
+    private static final String[] FIELD_TYPES = {"String", "int", "boolean", "Long", "java.util.List<String>", "Boolean"};
+
+    public void testSmartOneClickOnLargeBeans() {
+        assertSmartOneClick(50, 1_500);
+        assertSmartOneClick(200, 4_000);
+        assertSmartOneClick(1000, 20_000);
+    }
+
+    public void testBatchGeneration() {
+        assertBatchGeneration(10, 2_000);
+        assertBatchGeneration(50, 6_000);
+        assertBatchGeneration(200, 20_000);
+    }
+
+    public void testFieldRearrangement() {
+        assertFieldRearrangement(50, 1_500);
+        assertFieldRearrangement(200, 4_000);
+        assertFieldRearrangement(1000, 20_000);
+    }
+
+    public void testFoldJavaBeanMethods() {
+        assertFolding(50, 500);
+        assertFolding(200, 1_500);
+        assertFolding(1000, 6_000);
+    }
+
+    @Override
+    protected boolean shouldRunTest() {
+        return Boolean.getBoolean(PERFORMANCE_PROPERTY) && super.shouldRunTest();
+    }
+
+    private void assertSmartOneClick(int fieldCount, int budgetMillis) {
+        String text = beanClass("com.example.model", "Bean" + fieldCount, fieldCount, false);
+        PsiFile psiFile = myFixture.addFileToProject("com/example/model/Bean" + fieldCount + ".java", text);
+        GenerateJavaBeanMethodsAction action = new GenerateJavaBeanMethodsAction();
+
+        PlatformTestUtil.startPerformanceTest("Smart One-Click, " + fieldCount + " fields", budgetMillis,
+                () -> WriteCommandAction.runWriteCommandAction(getProject(),
+                        () -> action.performSmartGeneration(getProject(), firstClass(psiFile))))
+                .setup(() -> resetText(psiFile, text))
+                .attempts(3)
+                .assertTiming();
+
+        // 所有字段都应生成了getter和setter
+        assertEquals(fieldCount * 2 + 1, firstClass(psiFile).getMethods().length);
+    }
+
+    private void assertBatchGeneration(int fileCount, int budgetMillis) {
+        List<PsiFile> psiFiles = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        List<VirtualFile> virtualFiles = new ArrayList<>();
+        for (int i = 0; i < fileCount; i++) {
+            String className = "Batch" + fileCount + "Bean" + i;
+            String text = beanClass("com.example.dto", className, 20, false);
+            PsiFile psiFile = myFixture.addFileToProject("com/example/dto/" + className + ".java", text);
+            psiFiles.add(psiFile);
+            texts.add(text);
+            virtualFiles.add(psiFile.getVirtualFile());
+        }
+
+        BatchResult[] result = new BatchResult[1];
+        PlatformTestUtil.startPerformanceTest("Batch generation, " + fileCount + " files", budgetMillis, () -> {
+                    BatchGenerationEngine engine = new BatchGenerationEngine(getProject());
+                    engine.setIncremental(false);
+                    // 引擎在后台线程分析，写操作切换到EDT，等待时需要处理EDT事件
+                    Future<BatchResult> future = ApplicationManager.getApplication().executeOnPooledThread(
+                            () -> engine.run(virtualFiles, new EmptyProgressIndicator()));
+                    result[0] = PlatformTestUtil.waitForFuture(future, budgetMillis * 10L);
+                })
+                .setup(() -> {
+                    for (int i = 0; i < psiFiles.size(); i++) {
+                        resetText(psiFiles.get(i), texts.get(i));
+                    }
+                })
+                .usesAllCPUCores()
+                .attempts(3)
+                .assertTiming();
+
+        assertEquals(fileCount, result[0].getSuccessCount());
+        assertEquals(0, result[0].getErrorCount());
+    }
+
+    private void assertFieldRearrangement(int fieldCount, int budgetMillis) {
+        String text = beanClass("com.example.service", "Service" + fieldCount, fieldCount, false);
+        PsiFile psiFile = myFixture.addFileToProject("com/example/service/Service" + fieldCount + ".java", text);
+
+        PlatformTestUtil.startPerformanceTest("Field rearrangement, " + fieldCount + " fields", budgetMillis,
+                () -> WriteCommandAction.runWriteCommandAction(getProject(),
+                        () -> JavaBeanUtils.rearrangeFieldsPhysically(firstClass(psiFile))))
+                .setup(() -> resetText(psiFile, text))
+                .attempts(3)
+                .assertTiming();
+
+        assertEquals(fieldCount, firstClass(psiFile).getFields().length);
+    }
+
+    private void assertFolding(int fieldCount, int budgetMillis) {
+        String text = beanClass("com.example.model", "Folded" + fieldCount, fieldCount, true);
+        PsiFile psiFile = myFixture.configureByText("Folded" + fieldCount + ".java", text);
+        FoldingModel foldingModel = myFixture.getEditor().getFoldingModel();
+        FoldJavaBeanMethodsAction action = new FoldJavaBeanMethodsAction();
+
+        PlatformTestUtil.startPerformanceTest("Fold JavaBean methods, " + fieldCount + " fields", budgetMillis,
+                () -> action.foldJavaBeanMethods(myFixture.getEditor(), firstClass(psiFile)))
+                .setup(() -> foldingModel.runBatchFoldingOperation(() -> {
+                    for (FoldRegion region : foldingModel.getAllFoldRegions()) {
+                        foldingModel.removeFoldRegion(region);
+                    }
+                }))
+                .attempts(3)
+                .assertTiming();
+    }
+
+    /**
+     * 恢复文件的初始内容
+     */
+    private void resetText(PsiFile psiFile, String text) {
+        PsiDocumentManager documentManager = PsiDocumentManager.getInstance(getProject());
+        Document document = documentManager.getDocument(psiFile);
+        assertNotNull(document);
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> document.setText(text));
+        documentManager.commitAllDocuments();
+    }
+
+    private static PsiClass firstClass(PsiFile psiFile) {
+        return ((PsiJavaFile) psiFile).getClasses()[0];
+    }
+
+    /**
+     * 生成指定字段数量的类，字段按名称逆序排列
+     */
+    private static String beanClass(String packageName, String className, int fieldCount, boolean withAccessors) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(packageName).append(";\n\n");
+        sb.append("public class ").append(className).append(" {\n");
+        for (int i = 0; i < fieldCount; i++) {
+            sb.append("    private ").append(FIELD_TYPES[i % FIELD_TYPES.length])
+                    .append(" field").append(fieldCount - i).append(";\n");
+        }
+        if (withAccessors) {
+            for (int i = 0; i < fieldCount; i++) {
+                String type = FIELD_TYPES[i % FIELD_TYPES.length];
+                String name = "field" + (fieldCount - i);
+                String capitalized = "Field" + (fieldCount - i);
+                String getterPrefix = "boolean".equals(type) ? "is" : "get";
+                sb.append("\n    public ").append(type).append(' ').append(getterPrefix).append(capitalized)
+                        .append("() {\n        return ").append(name).append(";\n    }\n");
+                sb.append("\n    public void set").append(capitalized).append('(').append(type).append(' ').append(name)
+                        .append(") {\n        this.").append(name).append(" = ").append(name).append(";\n    }\n");
+            }
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,53 @@
+package com.glowxq.plugs.batch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 批量生成错误记录的上限和报告文件的单元测试
+ */
+public class BatchErrorLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testKeepsErrorsInMemoryBelowLimit() {
+        BatchErrorLog log = new BatchErrorLog(tempDir, 3);
+        log.add("A.java: error");
+        log.add("B.java: error");
+        log.close();
+
+        assertEquals(2, log.getCount());
+        assertEquals(2, log.getMessages().size());
+        assertNull(log.getReportPath());
+    }
+
+    @Test
+    public void testWritesAllErrorsToReportAboveLimit() throws Exception {
+        BatchErrorLog log = new BatchErrorLog(tempDir, 2);
+        for (int i = 0; i < 5; i++) {
+            log.add("File" + i + ".java: error");
+        }
+        log.close();
+
+        assertEquals(5, log.getCount());
+        assertEquals(2, log.getMessages().size());
+        Path report = log.getReportPath();
+        assertNotNull(report);
+
+        List<String> lines = Files.readAllLines(report, StandardCharsets.UTF_8);
+        assertEquals(5, lines.size());
+        assertEquals("File0.java: error", lines.get(0));
+        assertEquals("File4.java: error", lines.get(4));
+    }
+}
@@ -0,0 +1,65 @@
+package com.glowxq.plugs.metrics;
+
+import com.glowxq.plugs.utils.OneClickMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 操作历史分位数统计和导出的单元测试
+ */
+public class OperationHistoryExporterTest {
+
+    @Test
+    public void testPercentilesPerAction() {
+        List<OperationRecord> records = Arrays.asList(
+                record("SmartOneClick", "A.java", 3),
+                record("BatchGeneration", "10 files", 50),
+                record("SmartOneClick", "B.java", 1),
+                record("SmartOneClick", "C.java", 2),
+                record("SmartOneClick", "D.java", 10));
+
+        List<OperationHistory.ActionStats> stats = OperationHistory.computeStats(records);
+
+        assertEquals(2, stats.size());
+        OperationHistory.ActionStats smart = stats.get(0);
+        assertEquals("SmartOneClick", smart.getActionId());
+        assertEquals(4, smart.getCount());
+        assertEquals(millis(2), smart.percentileNanos(50));
+        assertEquals(millis(10), smart.percentileNanos(90));
+        assertEquals(millis(10), smart.maxNanos());
+        assertEquals(millis(50), stats.get(1).percentileNanos(99));
+    }
+
+    @Test
+    public void testCsvQuotesFieldsWithCommas() {
+        String csv = OperationHistoryExporter.toCsv(Arrays.asList(record("SmartOneClick", "a,b.java", 2)));
+        String[] lines = csv.split("\n");
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("timestamp,action,file,classType,fieldCount,durationMillis,detectMillis,planMillis,psiMutateMillis"));
+        assertTrue(lines[1].contains(",SmartOneClick,\"a,b.java\",JAVA_BEAN,5,2.000,"));
+    }
+
+    @Test
+    public void testJsonContainsStatsAndOperations() {
+        String json = OperationHistoryExporter.toJson(Arrays.asList(record("SmartOneClick", "A.java", 4)));
+
+        assertTrue(json.contains("\"action\": \"SmartOneClick\", \"count\": 1, \"p50Millis\": 4.000"));
+        assertTrue(json.contains("\"file\": \"A.java\""));
+        assertTrue(json.contains("\"reformatMillis\": 0.000"));
+    }
+
+    private static OperationRecord record(String actionId, String fileName, long durationMillis) {
+        return new OperationRecord(0L, actionId, fileName, "JAVA_BEAN", 5, millis(durationMillis),
+                new long[OneClickMetrics.Phase.values().length], 0);
+    }
+
+    private static long millis(long millis) {
+        return millis * 1_000_000L;
+    }
+}
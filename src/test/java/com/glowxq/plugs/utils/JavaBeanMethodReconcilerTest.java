@@ -0,0 +1,265 @@
+package com.glowxq.plugs.utils;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.*;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JavaBeanMethodReconciler的单元测试
+ * 验证只新增、替换或删除确实不同的方法，以及签名键、文本规范化和批量解析
+ *
+ * @author glowxq
+ */
+public class JavaBeanMethodReconcilerTest extends LightJavaCodeInsightFixtureTestCase {
+
+    private static final String GET_NAME = """
+        public String getName() {
+            return name;
+        }""";
+
+    private static final String SET_NAME = """
+        public void setName(String name) {
+            this.name = name;
+        }""";
+
+    public void testUnchangedMethodsKeepInstances() {
+        PsiClass psiClass = configure("""
+            public class TestClass {
+                private String name;
+
+                public String getName() {
+                    return name;
+                }
+
+                public void setName(String name) {
+                    this.name = name;
+                }
+            }
+            """);
+        PsiMethod[] before = psiClass.getMethods();
+
+        JavaBeanMethodReconciler.Result result = reconcile(psiClass, List.of(GET_NAME, SET_NAME),
+            List.of(before), psiClass.getFields()[0]);
+
+        // 已经一致的方法不做任何修改
+        assertFalse(result.hasChanges());
+        assertEquals(2, result.getUnchanged());
+        assertTrue(result.getChangedElements().isEmpty());
+        PsiMethod[] after = psiClass.getMethods();
+        assertEquals(2, after.length);
+        assertSame(before[0], after[0]);
+        assertSame(before[1], after[1]);
+    }
+
+    public void testChangedBodyIsReplacedInPlace() {
+        PsiClass psiClass = configure("""
+            public class TestClass {
+                private String name;
+
+                public String getName() {
+                    return "stub";
+                }
+
+                public void setName(String name) {
+                    this.name = name;
+                }
+            }
+            """);
+        PsiMethod[] before = psiClass.getMethods();
+
+        JavaBeanMethodReconciler.Result result = reconcile(psiClass, List.of(GET_NAME, SET_NAME),
+            List.of(before), psiClass.getFields()[0]);
+
+        // 方法体不同的getter在原位置替换，setter保持原实例
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getUnchanged());
+        assertEquals(0, result.getAdded());
+        assertEquals(0, result.getRemoved());
+        PsiMethod[] after = psiClass.getMethods();
+        assertEquals(List.of("getName", "setName"), namesOf(psiClass));
+        assertTrue(after[0].getBody().getText().contains("return name;"));
+        assertSame(before[1], after[1]);
+    }
+
+    public void testMissingAccessorsInsertedInFieldOrder() {
+        PsiClass psiClass = configure("""
+            public class TestClass {
+                private int a;
+                private int b;
+                private int c;
+
+                public int getA() {
+                    return a;
+                }
+
+                @Override
+                public String toString() {
+                    return "TestClass";
+                }
+            }
+            """);
+        PsiMethod[] before = psiClass.getMethods();
+        List<String> desired = List.of(
+            "public int getA() {\n    return a;\n}",
+            "public int getB() {\n    return b;\n}",
+            "public int getC() {\n    return c;\n}",
+            "@Override\npublic String toString() {\n    return \"TestClass\";\n}");
+
+        JavaBeanMethodReconciler.Result result = reconcile(psiClass, desired, List.of(before),
+            psiClass.getFields()[2]);
+
+        // 连续缺失的方法插入到上一个期望方法之后，顺序与字段一致
+        assertEquals(2, result.getAdded());
+        assertEquals(2, result.getUnchanged());
+        assertEquals(List.of("getA", "getB", "getC", "toString"), namesOf(psiClass));
+        assertSame(before[0], psiClass.getMethods()[0]);
+        assertSame(before[1], psiClass.getMethods()[3]);
+    }
+
+    public void testObsoleteAccessorsRemovedAfterFieldRename() {
+        PsiClass psiClass = configure("""
+            public class TestClass {
+                private String fullName;
+
+                public String getName() {
+                    return fullName;
+                }
+
+                public void setName(String name) {
+                    this.fullName = name;
+                }
+            }
+            """);
+        List<String> desired = List.of(
+            "public String getFullName() {\n    return fullName;\n}",
+            "public void setFullName(String fullName) {\n    this.fullName = fullName;\n}");
+
+        JavaBeanMethodReconciler.Result result = reconcile(psiClass, desired,
+            List.of(psiClass.getMethods()), psiClass.getFields()[0]);
+
+        // 旧字段名的访问器被删除，新访问器插入
+        assertEquals(2, result.getAdded());
+        assertEquals(2, result.getRemoved());
+        assertEquals(List.of("getFullName", "setFullName"), namesOf(psiClass));
+    }
+
+    public void testBusinessMethodWithAccessorNameIsKept() {
+        PsiClass psiClass = configure("""
+            public class TestClass {
+                private String name;
+
+                public String getName(String prefix) {
+                    return prefix + name;
+                }
+            }
+            """);
+        PsiMethod business = psiClass.getMethods()[0];
+
+        // 与GenerateJavaBeanMethodsAction相同：由访问器索引选出可删除的方法和插入位置
+        JavaBeanAccessorIndex accessorIndex = JavaBeanAccessorIndex.of(JavaBeanUtils.getInstanceFields(psiClass));
+        List<PsiMethod> managedMethods = accessorIndex.getAllJavaBeanMethods(psiClass);
+        List<PsiMethod> businessMethods = accessorIndex.getBusinessMethods(psiClass);
+        assertTrue(managedMethods.isEmpty());
+        assertEquals(List.of(business), businessMethods);
+        PsiElement anchor = JavaBeanAccessorIndex.findInsertionPoint(psiClass, businessMethods);
+
+        JavaBeanMethodReconciler.Result result = reconcile(psiClass, List.of(GET_NAME, SET_NAME),
+            managedMethods, anchor);
+
+        // 同名但参数个数不同的业务方法不是访问器，保持原样
+        assertEquals(2, result.getAdded());
+        assertEquals(0, result.getUpdated());
+        assertEquals(0, result.getRemoved());
+        assertTrue(business.isValid());
+        assertSame(business, psiClass.getMethods()[0]);
+        assertEquals(List.of("getName", "getName", "setName"), namesOf(psiClass));
+        assertEquals(1, psiClass.getMethods()[0].getParameterList().getParametersCount());
+        assertEquals(0, psiClass.getMethods()[1].getParameterList().getParametersCount());
+
+        // 再次对比时没有变化，CI检查不会一直报告差异
+        JavaBeanMethodReconciler.Result diff = JavaBeanMethodReconciler.diff(psiClass, List.of(GET_NAME, SET_NAME),
+            accessorIndex.getAllJavaBeanMethods(psiClass));
+        assertFalse(diff.hasChanges());
+        assertEquals(2, diff.getUnchanged());
+    }
+
+    public void testKeyOf() {
+        assertEquals("getName/0", JavaBeanMethodReconciler.keyOf(GET_NAME));
+        assertEquals("setName/1", JavaBeanMethodReconciler.keyOf(SET_NAME));
+        // 泛型参数中的逗号不计入参数个数
+        assertEquals("setMap/1", JavaBeanMethodReconciler.keyOf(
+            "public void setMap(Map<K, V> map) {\n    this.map = map;\n}"));
+        assertEquals("put/2", JavaBeanMethodReconciler.keyOf(
+            "public void put(Map<String, List<Integer>> values, int index) {\n}"));
+        assertEquals("getMap/0", JavaBeanMethodReconciler.keyOf(
+            "public Map<String, Integer> getMap () {\n    return map;\n}"));
+    }
+
+    public void testNormalize() {
+        assertEquals("return name;", JavaBeanMethodReconciler.normalize("return   name ;"));
+        assertEquals("return\"a  b\";", JavaBeanMethodReconciler.normalize("return  \"a  b\" ;"));
+        // 字符字面量中的引号不会开始字符串，后面的空白继续压缩
+        assertEquals("char c='\"';return x;",
+            JavaBeanMethodReconciler.normalize("char c = '\"' ;\n    return   x;"));
+        assertEquals("char q='\\'';int a;",
+            JavaBeanMethodReconciler.normalize("char q = '\\'' ;\n    int   a;"));
+    }
+
+    public void testParseMethodsInOneClass() {
+        PsiClass psiClass = configure("""
+            public class TestClass {
+                private String name;
+            }
+            """);
+        PsiElementFactory factory = JavaPsiFacade.getElementFactory(getProject());
+
+        Map<String, PsiMethod> parsed = JavaBeanMethodReconciler.parseMethods(factory,
+            List.of(GET_NAME, SET_NAME), psiClass);
+
+        assertEquals(2, parsed.size());
+        assertEquals("getName", parsed.get(GET_NAME).getName());
+        assertEquals("setName", parsed.get(SET_NAME).getName());
+        // 批量解析时所有方法在同一个类中
+        assertSame(parsed.get(GET_NAME).getContainingClass(), parsed.get(SET_NAME).getContainingClass());
+    }
+
+    public void testParseMethodsFallsBackWhenCountDiffers() {
+        PsiClass psiClass = configure("""
+            public class TestClass {
+                private int a;
+                private int b;
+            }
+            """);
+        PsiElementFactory factory = JavaPsiFacade.getElementFactory(getProject());
+        // 未结束的块注释在拼成一个类体后会吞掉后面的方法，解析出的方法数与文本数不一致
+        String first = "public int getA() {\n    return a;\n} /* unterminated";
+        String second = "public int getB() {\n    return b;\n}";
+
+        Map<String, PsiMethod> parsed = JavaBeanMethodReconciler.parseMethods(factory,
+            List.of(first, second), psiClass);
+
+        assertEquals(2, parsed.size());
+        assertEquals("getA", parsed.get(first).getName());
+        assertEquals("getB", parsed.get(second).getName());
+        assertNotSame(parsed.get(first).getContainingFile(), parsed.get(second).getContainingFile());
+    }
+
+    private PsiClass configure(String text) {
+        PsiJavaFile psiFile = (PsiJavaFile) myFixture.configureByText("TestClass.java", text);
+        return psiFile.getClasses()[0];
+    }
+
+    private JavaBeanMethodReconciler.Result reconcile(PsiClass psiClass, List<String> desiredTexts,
+                                                      List<PsiMethod> managedMethods, PsiElement anchor) {
+        return WriteCommandAction.writeCommandAction(getProject())
+            .compute(() -> JavaBeanMethodReconciler.reconcile(psiClass, desiredTexts, managedMethods, anchor));
+    }
+
+    private static List<String> namesOf(PsiClass psiClass) {
+        return Arrays.stream(psiClass.getMethods()).map(PsiMethod::getName).toList();
+    }
+}
@@ -1,9 +1,13 @@
 package com.glowxq.plugs.utils;
 
+import com.glowxq.plugs.settings.OneClickSettings;
+import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.psi.*;
 import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -163,4 +167,186 @@ public class JavaBeanUtilsTest extends LightJavaCodeInsightFixtureTestCase {
         assertTrue("插入点应该是字段", insertionPoint instanceof PsiField);
         assertEquals("插入点应该是最后一个字段", "age", ((PsiField) insertionPoint).getName());
     }
+
+    @Test
+    public void testInsertMembersAfterKeepsOrder() {
+        String testClass = """
+            public class TestClass {
+                private String name;
+                private int age;
+            }
+            """;
+
+        PsiJavaFile psiFile = (PsiJavaFile) myFixture.configureByText("TestClass.java", testClass);
+        PsiClass psiClass = psiFile.getClasses()[0];
+        PsiElementFactory factory = JavaPsiFacade.getElementFactory(getProject());
+        PsiClass dummy = factory.createClassFromText(
+            "public String getName() { return name; }\n" +
+            "public int getAge() { return age; }\n", psiClass);
+        PsiElement anchor = psiClass.getFields()[1];
+
+        List<PsiElement> inserted = WriteCommandAction.writeCommandAction(getProject())
+            .compute(() -> JavaBeanUtils.insertMembersAfter(psiClass, List.of(dummy.getMethods()), anchor));
+
+        // 整段插入后方法与传入的顺序一致，且位于锚点之后
+        assertEquals(2, inserted.size());
+        PsiMethod[] methods = psiClass.getMethods();
+        assertEquals(2, methods.length);
+        assertEquals("getName", methods[0].getName());
+        assertEquals("getAge", methods[1].getName());
+        assertSame(methods[0], inserted.get(0));
+        assertSame(methods[1], inserted.get(1));
+    }
+
+    public void testReplaceFieldBlockMovesCommentsWithFields() {
+        String testClass = """
+            public class TestClass {
+                /** Zeta doc */
+                private String zeta;
+
+                // beta comment
+                @Deprecated
+                private int beta;
+
+                /**
+                 * Alpha doc
+                 */
+                @SuppressWarnings("unused")
+                private long alpha;
+
+                public void run() {
+                }
+            }
+            """;
+
+        PsiJavaFile psiFile = (PsiJavaFile) myFixture.configureByText("TestClass.java", testClass);
+        PsiClass psiClass = psiFile.getClasses()[0];
+
+        // 连续的字段块一次文档替换完成重排
+        assertTrue(replaceFieldBlockByName(psiClass));
+
+        PsiClass rearranged = psiFile.getClasses()[0];
+        assertTrue(rearranged.isValid());
+        assertEquals(List.of("alpha", "beta", "zeta"), fieldNamesOf(rearranged));
+        assertEquals("run", rearranged.getMethods()[0].getName());
+
+        // 注释、文档注释和注解随字段移动，字段之间保留空行
+        String text = psiFile.getText();
+        assertFieldPrecededBy(text, "private long alpha;", "Alpha doc");
+        assertFieldPrecededBy(text, "private long alpha;", "@SuppressWarnings(\"unused\")");
+        assertFieldPrecededBy(text, "private int beta;", "// beta comment");
+        assertFieldPrecededBy(text, "private int beta;", "@Deprecated");
+        assertFieldPrecededBy(text, "private String zeta;", "/** Zeta doc */");
+        assertTrue(text.substring(text.indexOf("private long alpha;"), text.indexOf("// beta comment"))
+            .contains("\n\n"));
+        assertTrue(text.substring(text.indexOf("private int beta;"), text.indexOf("/** Zeta doc */"))
+            .contains("\n\n"));
+    }
+
+    public void testRearrangeFieldsPhysicallyReturnsValidClass() {
+        String testClass = """
+            package com.example.service;
+
+            @Service
+            public class OrderService {
+                private String zeta;
+                // beta comment
+                private int beta;
+                private long alpha;
+
+                public void run() {
+                }
+            }
+            """;
+
+        PsiJavaFile psiFile = (PsiJavaFile) myFixture.configureByText("OrderService.java", testClass);
+        OneClickSettings settings = OneClickSettings.getInstance();
+        boolean fieldSorting = settings.isEnableFieldSorting();
+        settings.setEnableFieldSorting(true);
+        try {
+            PsiClass rearranged = WriteCommandAction.writeCommandAction(getProject())
+                .compute(() -> JavaBeanUtils.rearrangeFieldsPhysically(psiFile.getClasses()[0]));
+
+            // 文本替换后原PsiClass可能失效，返回值必须可用
+            assertTrue(rearranged.isValid());
+            assertEquals(List.of("alpha", "beta", "zeta"), fieldNamesOf(rearranged));
+
+            // 原字段块没有空行，重排后也不增加空行
+            String text = psiFile.getText();
+            assertFieldPrecededBy(text, "private int beta;", "// beta comment");
+            assertFalse(text.substring(text.indexOf("private long alpha;"), text.indexOf("private String zeta;"))
+                .contains("\n\n"));
+        } finally {
+            settings.setEnableFieldSorting(fieldSorting);
+        }
+    }
+
+    public void testReplaceFieldBlockSkipsMultiVariableDeclaration() {
+        assertFieldBlockNotReplaced("""
+            public class TestClass {
+                private int zeta, beta;
+                private long alpha;
+            }
+            """);
+    }
+
+    public void testReplaceFieldBlockSkipsTrailingComment() {
+        assertFieldBlockNotReplaced("""
+            public class TestClass {
+                private int zeta; // zeta note
+                private int beta;
+                private long alpha;
+            }
+            """);
+    }
+
+    public void testReplaceFieldBlockSkipsInitializerBetweenFields() {
+        assertFieldBlockNotReplaced("""
+            public class TestClass {
+                private int zeta;
+                {
+                    zeta = 1;
+                }
+                private long alpha;
+            }
+            """);
+    }
+
+    /**
+     * 按字段名排序后尝试一次替换字段块
+     */
+    private boolean replaceFieldBlockByName(PsiClass psiClass) {
+        List<PsiField> allFields = Arrays.asList(psiClass.getFields());
+        List<PsiField> finalOrder = allFields.stream().sorted(Comparator.comparing(PsiField::getName)).toList();
+        return WriteCommandAction.writeCommandAction(getProject())
+            .compute(() -> JavaBeanUtils.replaceFieldBlock(psiClass, allFields, finalOrder,
+                ReformatScope.forClass(psiClass)));
+    }
+
+    /**
+     * 无法整块替换时返回false且不修改文件，由调用方使用PSI方式重排
+     */
+    private void assertFieldBlockNotReplaced(String testClass) {
+        PsiJavaFile psiFile = (PsiJavaFile) myFixture.configureByText("TestClass.java", testClass);
+        PsiClass psiClass = psiFile.getClasses()[0];
+
+        assertFalse(replaceFieldBlockByName(psiClass));
+        assertEquals(testClass, psiFile.getText());
+        assertTrue(psiClass.isValid());
+    }
+
+    /**
+     * prefix出现在field之前，且两者之间没有其他字段
+     */
+    private static void assertFieldPrecededBy(String text, String field, String prefix) {
+        int fieldOffset = text.indexOf(field);
+        int prefixOffset = text.lastIndexOf(prefix, fieldOffset);
+        assertTrue(prefix + " 应该在 " + field + " 之前", prefixOffset >= 0);
+        assertFalse(prefix + " 与 " + field + " 之间不应有其他字段",
+            text.substring(prefixOffset + prefix.length(), fieldOffset).contains("private "));
+    }
+
+    private static List<String> fieldNamesOf(PsiClass psiClass) {
+        return Arrays.stream(psiClass.getFields()).map(PsiField::getName).toList();
+    }
 }
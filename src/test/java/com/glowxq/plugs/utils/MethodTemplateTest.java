@@ -0,0 +1,45 @@
+package com.glowxq.plugs.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * MethodTemplate的单元测试
+ * 验证与原来String.format生成的访问器文本一致
+ */
+public class MethodTemplateTest {
+
+    @Test
+    public void testRendersRepeatedPlaceholders() {
+        MethodTemplate setter = MethodTemplate.compile(
+                "public void {0}({1} {2}) {\n" +
+                "    this.{2} = {2};\n" +
+                "}");
+
+        String expected = String.format(
+                "public void %s(%s %s) {\n" +
+                "    this.%s = %s;\n" +
+                "}",
+                "setName", "java.lang.String", "name", "name", "name");
+        assertEquals(expected, setter.render("setName", "java.lang.String", "name"));
+    }
+
+    @Test
+    public void testKeepsBracesThatAreNotPlaceholders() {
+        MethodTemplate getter = MethodTemplate.compile("public {0} {1}() {\n    return {2};\n}");
+
+        assertEquals("public java.util.Map<java.lang.String, java.lang.Integer> getCounts() {\n    return counts;\n}",
+                getter.render("java.util.Map<java.lang.String, java.lang.Integer>", "getCounts", "counts"));
+    }
+
+    @Test
+    public void testAppendsToExistingBuilder() {
+        MethodTemplate template = MethodTemplate.compile("{0}-{1}");
+        StringBuilder out = new StringBuilder("x:");
+
+        template.appendTo(out, "a", "b");
+
+        assertEquals("x:a-b", out.toString());
+    }
+}
@@ -0,0 +1,55 @@
+package com.glowxq.plugs.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PackagePatternMatcher的单元测试
+ * 验证与原来逐个规则contains判断的结果一致
+ */
+public class PackagePatternMatcherTest {
+
+    @Test
+    public void testMatchesAnyPatternAsSubstring() {
+        PackagePatternMatcher matcher = PackagePatternMatcher.compile("entity,model,bean,pojo,dto,vo,domain,data");
+
+        assertTrue(matcher.matches("com.glowxq.plugs.model"));
+        assertTrue(matcher.matches("com.example.user.dto.request"));
+        // 与原实现一致：按子串匹配，不要求完整的包段
+        assertTrue(matcher.matches("com.example.beans"));
+        assertFalse(matcher.matches("com.glowxq.plugs.service"));
+    }
+
+    @Test
+    public void testIgnoresCaseAndWhitespace() {
+        PackagePatternMatcher matcher = PackagePatternMatcher.compile(" Service , CONTROLLER ");
+
+        assertTrue(matcher.matches("com.example.service.impl"));
+        assertTrue(matcher.matches("com.example.UserController"));
+        assertFalse(matcher.matches("com.example.model"));
+    }
+
+    @Test
+    public void testOverlappingPatterns() {
+        // "handler"的前缀与"andl"重叠，需要依赖失败指针才能匹配
+        PackagePatternMatcher matcher = PackagePatternMatcher.compile(Arrays.asList("handler", "andle", "dl"));
+
+        assertTrue(matcher.matches("com.example.handle"));
+        assertTrue(matcher.matches("com.example.hdl"));
+        assertFalse(matcher.matches("com.example.hand"));
+    }
+
+    @Test
+    public void testBlankPatternsAreIgnored() {
+        PackagePatternMatcher matcher = PackagePatternMatcher.compile("dto,, ,");
+
+        assertFalse(matcher.isEmpty());
+        assertTrue(matcher.matches("com.example.dto"));
+        assertFalse(matcher.matches("com.example.service"));
+        assertTrue(PackagePatternMatcher.compile(" , ").isEmpty());
+    }
+}